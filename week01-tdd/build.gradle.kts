@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -24,6 +25,7 @@ dependencyManagement {
 dependencies {
     implementation(libs.spring.boot.starter.web)
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -32,11 +34,12 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    // 가상 스레드(spring.threads.virtual.enabled) 사용을 위해 21 이상 필요
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
 }
 
 // bundling tasks
@@ -46,6 +49,18 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+// benchmark tasks
+// ./gradlew jmh -PjmhThreads=64 -PjmhIncludes=PointServiceBenchmark
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    threads.set(findProperty("jmhThreads")?.toString()?.toInt() ?: 8)
+    findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
+    findProperty("jmhProfilers")?.let { profilers.set(it.toString().split(",")) }
+    resultFormat.set("JSON")
+}
+
 // test tasks
 tasks.test {
     ignoreFailures = true
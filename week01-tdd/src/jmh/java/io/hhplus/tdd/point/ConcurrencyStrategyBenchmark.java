@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.service.ConcurrencyStrategy;
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전/사용 동시성 전략 비교 벤치마크
+ * - strategy : 사용자 락(PESSIMISTIC) / 버전 확인 후 저장(OPTIMISTIC)
+ * - users : 요청이 퍼지는 사용자 수, 적을수록 경합이 크다. (스레드 수 / users = 사용자당 동시 요청 수)
+ * - latency : 지연 없는 테이블(ZERO) / 실제 테이블(REAL) / PrimitivePointStore(PRIMITIVE)
+ * - 잔액 조회 없이 충전/사용만 호출하며, 어느 경합 수준부터 전략의 우열이 바뀌는지 -PjmhThreads 를 바꿔가며 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrencyStrategyBenchmark {
+
+    private static final long INITIAL_POINT = 500L;
+
+    @Param({"PESSIMISTIC", "OPTIMISTIC"})
+    public ConcurrencyStrategy strategy;
+
+    @Param({"1", "4", "16", "1000"})
+    public int users;
+
+    @Param({"ZERO", "REAL", "PRIMITIVE"})
+    public PointServiceFixture.Latency latency;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = PointServiceFixture.create(latency, strategy);
+        fixture.preload(users, INITIAL_POINT);
+        pointService = fixture.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public UserPoint write(WriterState writer) {
+        long id = ThreadLocalRandom.current().nextLong(1, users + 1);
+        // 스레드마다 충전과 사용을 번갈아 호출해 잔액이 정책 한도에 닿지 않도록 한다.
+        writer.charge = !writer.charge;
+        if (writer.charge) {
+            return pointService.chargePoint(id, 1L);
+        }
+        return pointService.usePoint(id, 1L);
+    }
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        boolean charge;
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 내역 전체 읽기 벤치마크
+ * - tier : ArrayList<PointHistory>(LIST) / 압축하지 않은 인덱스(HOT) / 대부분 압축된 인덱스(SEALED)
+ * - 1 op = 한 사용자의 내역 rows 건을 PointHistory 로 만들어 소비한다.
+ * - SEALED 의 건당 압축 크기는 시작 시 출력하고, 할당량은 -PjmhProfilers=gc 로 함께 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HistoryTierBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    public enum Tier {
+        LIST, HOT, SEALED
+    }
+
+    @Param({"LIST", "HOT", "SEALED"})
+    public Tier tier;
+
+    @Param({"10000"})
+    public int rows;
+
+    private List<PointHistory> list;
+    private PointHistoryIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(registry);
+        ZeroLatencyPointHistoryTable pointHistoryTable = new ZeroLatencyPointHistoryTable();
+        // 시작하지 않은 writer 는 저장 대기 내역이 없으므로 인덱스 적재에만 쓰인다.
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), pointMetrics, 100, 100, Duration.ofMillis(50));
+        Duration sealAfter = tier == Tier.SEALED ? Duration.ZERO : Duration.ofDays(36_500);
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 1,
+                new PointThreadFactory(false), pointMetrics);
+        index = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics, hedgedReader,
+                128, sealAfter);
+
+        list = new ArrayList<>(rows);
+        long id = 0;
+        long millis = System.currentTimeMillis() - Duration.ofDays(30).toMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < rows; i++) {
+            // 여러 사용자의 내역이 섞여 채번되므로 id 와 시각은 간격을 두고 증가한다.
+            id += random.nextLong(1, 1_000);
+            millis += random.nextLong(1, 60_000);
+            long amount = random.nextLong(1, 100_000);
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            list.add(new PointHistory(id, USER_ID, amount, type, millis));
+            index.restore(id, USER_ID, amount, type, millis);
+        }
+
+        if (tier == Tier.SEALED) {
+            double sealedRows = registry.get("point.history.sealed.rows").gauge().value();
+            double sealedBytes = registry.get("point.history.sealed.bytes").gauge().value();
+            System.out.printf("sealed rows=%.0f, bytes/record=%.2f%n", sealedRows, sealedBytes / sealedRows);
+        }
+    }
+
+    @Benchmark
+    public void readAll(Blackhole blackhole) {
+        if (tier == Tier.LIST) {
+            for (PointHistory pointHistory : list) {
+                blackhole.consume(pointHistory);
+            }
+            return;
+        }
+        index.forEach(USER_ID, 0L, Integer.MAX_VALUE, blackhole::consume);
+    }
+
+    @Benchmark
+    public PointHistoryPage readLastPage() {
+        // 최신 내역 페이지는 압축 블록을 지나 hot 구간에서 읽힌다.
+        return index.findPage(USER_ID, list.get(rows - 100).id(), 100);
+    }
+}
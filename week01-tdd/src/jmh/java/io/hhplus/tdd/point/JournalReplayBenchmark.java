@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.journal.MappedPointJournal;
+import io.hhplus.tdd.point.journal.PointJournalRecovery;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.store.PrimitivePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 저널 재생(재시작 복구) 시간 벤치마크
+ * - records 건의 저널을 미리 기록해 두고, 1 op = 저널을 열어 PointJournalRecovery 로 잔액/내역/집계를 복구한다.
+ * - restoreHistory=false 는 스냅샷이 없으므로 잔액만 복구하는 경우이다.
+ * - 1천만 건은 저널 파일 약 400MB 와 인덱스 메모리가 필요하므로 -Xmx4g 이상으로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JournalReplayBenchmark {
+
+    private static final DataSize SEGMENT_SIZE = DataSize.ofMegabytes(64);
+    private static final int APPEND_BATCH = 1_000;
+
+    @Param({"1000000", "10000000"})
+    public long records;
+
+    @Param({"100000"})
+    public int users;
+
+    @Param({"true", "false"})
+    public boolean restoreHistory;
+
+    private Path directory;
+    private MappedPointJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-replay");
+        MappedPointJournal writer = new MappedPointJournal(directory.toString(), SEGMENT_SIZE, false);
+        List<PointHistory> batch = new ArrayList<>(APPEND_BATCH);
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= records; id++) {
+            // 사용자마다 충전 뒤 사용이 이어지도록 해 잔액이 음수가 되지 않게 한다.
+            long userId = (id - 1) % users + 1;
+            TransactionType type = ((id - 1) / users) % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            batch.add(new PointHistory(id, userId, 10L, type, now - records + id));
+            if (batch.size() == APPEND_BATCH) {
+                writer.append(batch);
+                batch.clear();
+            }
+        }
+        writer.append(batch);
+        writer.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    @Benchmark
+    public long recover() {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointThreadFactory pointThreadFactory = new PointThreadFactory(false);
+        ZeroLatencyPointHistoryTable pointHistoryTable = new ZeroLatencyPointHistoryTable();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointThreadFactory,
+                pointMetrics, 100, 100, Duration.ofMillis(50));
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                pointThreadFactory, pointMetrics);
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter,
+                pointMetrics, hedgedReader, 128, Duration.ofDays(3));
+
+        journal = new MappedPointJournal(directory.toString(), SEGMENT_SIZE, false);
+        PointJournalRecovery recovery = new PointJournalRecovery(journal, Optional.empty(),
+                new PrimitivePointStore(users), pointHistoryIndex, pointHistoryWriter,
+                new PointAggregates(24, 30, pointMetrics), restoreHistory);
+        return recovery.recover();
+    }
+}
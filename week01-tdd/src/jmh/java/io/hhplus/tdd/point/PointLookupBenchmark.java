@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.UserPointNotFoundException;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.store.PointStore;
+import io.hhplus.tdd.point.store.PrimitivePointStore;
+import io.hhplus.tdd.point.store.TablePointStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 조회 경로 벤치마크
+ * - store : 지연 없는 테이블(ZERO) / PrimitivePointStore(PRIMITIVE)
+ * - 있는 사용자와 없는 사용자를 저장소(find)와 서비스(getUserPoint)에서 각각 조회한다.
+ * - 요청당 할당량은 ./gradlew jmh -PjmhProfilers=gc 의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PointLookupBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"ZERO", "PRIMITIVE"})
+    public PointServiceFixture.Latency store;
+
+    private PointStore pointStore;
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        pointStore = store == PointServiceFixture.Latency.PRIMITIVE
+                ? new PrimitivePointStore(USERS)
+                : new TablePointStore(new ZeroLatencyUserPointTable());
+        for (long id = 1; id <= USERS; id++) {
+            pointStore.insertOrUpdate(id, 500L);
+        }
+
+        fixture = PointServiceFixture.create(store);
+        fixture.preload(USERS, 500L);
+        pointService = fixture.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public PointLookup findPresent() {
+        return pointStore.find(ThreadLocalRandom.current().nextLong(1, USERS + 1));
+    }
+
+    @Benchmark
+    public PointLookup findAbsent() {
+        return pointStore.find(ThreadLocalRandom.current().nextLong(USERS + 1, USERS * 2L));
+    }
+
+    @Benchmark
+    public UserPoint getUserPointPresent() {
+        return pointService.getUserPoint(ThreadLocalRandom.current().nextLong(1, USERS + 1));
+    }
+
+    @Benchmark
+    public Object getUserPointAbsent() {
+        // 없는 사용자는 캐시에 남지 않으므로 매번 저장소까지 조회한다.
+        try {
+            return pointService.getUserPoint(ThreadLocalRandom.current().nextLong(USERS + 1, USERS * 2L));
+        } catch (UserPointNotFoundException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 경합 벤치마크
+ * - latency : 실제 테이블(REAL) / 지연 없는 테이블(ZERO)
+ * - distribution : 한 사용자에 몰리는 경우(HOT) / 사용자에게 고르게 퍼지는 경우(UNIFORM)
+ * - writeRatio : 충전/사용 비율 (0.05 = 읽기 위주, 0.5 = 쓰기 위주)
+ * - 스레드 수는 ./gradlew jmh -PjmhThreads=N 으로 바꿔가며 측정한다.
+ * - Throughput 은 ops/s, SampleTime 은 p50/p99/p99.9 지연을 보고한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final long INITIAL_POINT = 500L;
+
+    @Param({"ZERO", "PRIMITIVE", "REAL"})
+    public PointServiceFixture.Latency latency;
+
+    @Param({"HOT", "UNIFORM"})
+    public String distribution;
+
+    @Param({"0.05", "0.5"})
+    public double writeRatio;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = PointServiceFixture.create(latency);
+        fixture.preload(USERS, INITIAL_POINT);
+        pointService = fixture.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public UserPoint mixed(WriterState writer) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = "HOT".equals(distribution) ? 1L : random.nextLong(1, USERS + 1);
+
+        if (random.nextDouble() >= writeRatio) {
+            return pointService.getUserPoint(id);
+        }
+        // 스레드마다 충전과 사용을 번갈아 호출해 잔액이 정책 한도에 닿지 않도록 한다.
+        writer.charge = !writer.charge;
+        if (writer.charge) {
+            return pointService.chargePoint(id, 1L);
+        }
+        return pointService.usePoint(id, 1L);
+    }
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        boolean charge;
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.PointReadCoalescer;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.journal.NoOpPointJournal;
+import io.hhplus.tdd.point.lock.StripedUserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.service.ConcurrencyStrategy;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.store.PointStore;
+import io.hhplus.tdd.point.store.PrimitivePointStore;
+import io.hhplus.tdd.point.store.TablePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 벤치마크용 PointService 구성
+ * - Spring 컨텍스트 없이 애플리케이션과 같은 구성으로 서비스를 만든다.
+ */
+public final class PointServiceFixture implements AutoCloseable {
+
+    public enum Latency {
+        /** database 패키지의 실제 테이블 (지연 포함) */
+        REAL,
+        /** 잔액 테이블만 실제 지연, 내역 테이블은 지연 없음 (비동기로 쌓이는 내역이 측정 종료를 붙잡지 않도록) */
+        BALANCE,
+        /** 지연 없는 대체 테이블 */
+        ZERO,
+        /** PrimitivePointStore + 지연 없는 내역 테이블 */
+        PRIMITIVE
+    }
+
+    private final PointService pointService;
+    private final PointHistoryWriter pointHistoryWriter;
+
+    private PointServiceFixture(PointStore pointStore, PointHistoryTable pointHistoryTable,
+                                ConcurrencyStrategy concurrencyStrategy) {
+        PointThreadFactory pointThreadFactory = new PointThreadFactory(false);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        this.pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointThreadFactory,
+                pointMetrics, 100_000, 100, Duration.ofMillis(50));
+        // 서비스 자체의 경합만 비교하도록 hedge 는 끈다.
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                pointThreadFactory, pointMetrics);
+        this.pointService = new PointService(pointStore, new StripedUserLockManager(1024),
+                new UserPointCache(100_000, Duration.ofMinutes(10)), new PointReadCoalescer(1024, pointMetrics),
+                hedgedReader, pointHistoryWriter,
+                new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics, hedgedReader,
+                        128, Duration.ofDays(3)),
+                new PointAggregates(24, 30, pointMetrics),
+                new NoOpPointJournal(),
+                pointMetrics, concurrencyStrategy, 3, Duration.ofMillis(2));
+        pointHistoryWriter.start();
+    }
+
+    public static PointServiceFixture create(Latency latency) {
+        return create(latency, ConcurrencyStrategy.PESSIMISTIC);
+    }
+
+    public static PointServiceFixture create(Latency latency, ConcurrencyStrategy concurrencyStrategy) {
+        if (latency == Latency.ZERO) {
+            return new PointServiceFixture(new TablePointStore(new ZeroLatencyUserPointTable()),
+                    new ZeroLatencyPointHistoryTable(), concurrencyStrategy);
+        }
+        if (latency == Latency.PRIMITIVE) {
+            return new PointServiceFixture(new PrimitivePointStore(100_000), new ZeroLatencyPointHistoryTable(),
+                    concurrencyStrategy);
+        }
+        if (latency == Latency.BALANCE) {
+            return new PointServiceFixture(new TablePointStore(new UserPointTable()), new ZeroLatencyPointHistoryTable(),
+                    concurrencyStrategy);
+        }
+        return new PointServiceFixture(new TablePointStore(new UserPointTable()), new PointHistoryTable(),
+                concurrencyStrategy);
+    }
+
+    public PointService pointService() {
+        return pointService;
+    }
+
+    /**
+     * 사용자 1..users 의 잔액을 미리 채운다.
+     * - 실제 테이블은 건당 수백 ms 가 걸리므로 병렬로 채운다.
+     * @param users
+     * @param point
+     */
+    public void preload(int users, long point) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<UserPoint>> futures = new ArrayList<>(users);
+            for (long id = 1; id <= users; id++) {
+                long userId = id;
+                futures.add(executor.submit(() -> pointService.chargePoint(userId, point)));
+            }
+            for (Future<UserPoint> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        pointHistoryWriter.stop();
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤딩 처리량 확장 벤치마크
+ * - shards 개의 TddApplication 을 localhost 의 빈 포트에 띄우고, 실제 HTTP 로 충전 후 사용을 요청한다.
+ * - client : 아무 인스턴스에나 보내 필터가 담당 shard 로 전달하는 경우(RANDOM) / 클라이언트가 담당 shard 로 바로 보내는 경우(AWARE)
+ * - 인스턴스 하나의 처리 한도는 maxInFlight(point.async.max-in-flight) 로 고정해, shard 수에 따라 늘어나는 처리량을 본다.
+ * - 모든 인스턴스가 한 JVM 과 같은 CPU 를 나눠 쓰므로, CPU 가 한계인 구간의 확장은 별도 프로세스로 확인한다.
+ * - 스레드 수는 ./gradlew jmh -PjmhThreads=N 으로 바꿔가며 측정한다. (shards × maxInFlight 보다 크게 둔다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShardScalingBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final String SECRET = "benchmark-secret";
+
+    public enum Client {
+        RANDOM, AWARE
+    }
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    @Param({"RANDOM", "AWARE"})
+    public Client client;
+
+    @Param({"32"})
+    public int maxInFlight;
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+    private List<URI> baseUris;
+    private ShardRouter shardRouter;
+    private HttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> nodes = new ArrayList<>(shards);
+        baseUris = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            URI baseUri = URI.create("http://localhost:" + freePort());
+            nodes.add("shard" + i + "=" + baseUri);
+            baseUris.add(baseUri);
+        }
+        for (int i = 0; i < shards; i++) {
+            instances.add(new SpringApplicationBuilder(TddApplication.class).run(
+                    "--server.port=" + baseUris.get(i).getPort(),
+                    "--point.shard.enabled=true",
+                    "--point.shard.self=shard" + i,
+                    "--point.shard.nodes=" + String.join(",", nodes),
+                    "--point.shard.secret=" + SECRET,
+                    "--point.async.max-in-flight=" + maxInFlight,
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN"));
+        }
+        // 인스턴스와 같은 nodes 로 만든 ring 으로 AWARE 클라이언트가 담당 shard 를 고른다.
+        shardRouter = new ShardRouter(true, "shard0", nodes, 160, SECRET);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        instances.forEach(ConfigurableApplicationContext::close);
+        instances.clear();
+    }
+
+    @Benchmark
+    public void chargeAndUse() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(1, USERS + 1);
+        URI baseUri = client == Client.AWARE
+                ? shardRouter.owner(id).baseUri()
+                : baseUris.get(random.nextInt(shards));
+
+        // 충전 후 같은 금액을 사용해 잔액이 정책 한도에 닿지 않도록 한다.
+        send(baseUri, id, "charge");
+        send(baseUri, id, "use");
+    }
+
+    private void send(URI baseUri, long id, String operation) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/point/" + id + "/" + operation))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("1"))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            // 거절/타임아웃 응답을 처리량에 넣지 않도록 측정을 실패시킨다.
+            throw new IllegalStateException(operation + " 응답 상태가 " + response.statusCode() + " 입니다.");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드 처리량 비교 벤치마크
+ * - 잔액 테이블의 실제 지연 위에서 concurrency 명의 사용자가 동시에 충전 후 사용을 요청하는 묶음을 한 번의 측정으로 본다.
+ * - PLATFORM 은 Tomcat 기본 최대 스레드 수(200)의 고정 풀, VIRTUAL 은 요청마다 가상 스레드를 쓴다. (Java 21 필요)
+ * - 초당 요청 수는 점수(ops/s) × concurrency × 2 이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    public enum ThreadMode {
+        PLATFORM, VIRTUAL
+    }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode mode;
+
+    @Param({"200", "1000"})
+    public int concurrency;
+
+    private PointServiceFixture fixture;
+    private PointService pointService;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PointServiceFixture.create(PointServiceFixture.Latency.BALANCE);
+        pointService = fixture.pointService();
+        executor = new PointThreadFactory(mode == ThreadMode.VIRTUAL).newExecutor("request", TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        fixture.close();
+    }
+
+    @Benchmark
+    public void chargeAndUse() throws Exception {
+        List<Future<UserPoint>> futures = new ArrayList<>(concurrency);
+        for (long id = 1; id <= concurrency; id++) {
+            long userId = id;
+            // 충전 후 같은 금액을 사용해 잔액이 정책 한도에 닿지 않도록 한다.
+            futures.add(executor.submit(() -> {
+                pointService.chargePoint(userId, 1L);
+                return pointService.usePoint(userId, 1L);
+            }));
+        }
+        for (Future<UserPoint> future : futures) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지연 없는 PointHistoryTable
+ * - 테이블 지연을 빼고 서비스 자체의 오버헤드만 측정하기 위해 사용한다.
+ */
+public class ZeroLatencyPointHistoryTable extends PointHistoryTable {
+
+    private final ConcurrentHashMap<Long, List<PointHistory>> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        table.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return List.copyOf(table.getOrDefault(userId, List.of()));
+    }
+}
@@ -1,14 +1,59 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
 //    @ExceptionHandler(value = Exception.class)
 //    public ResponseEntity<ErrorResponse> handleException(Exception e) {
 //        return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
 //    }
+
+    /**
+     * 비동기 요청이 설정된 시간 안에 끝나지 않은 경우
+     */
+    @ExceptionHandler(value = TimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleTimeout(TimeoutException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ErrorResponse("504", "요청 처리 시간이 초과되었습니다."));
+    }
+
+    /**
+     * 동시 처리 한도를 넘은 충전/사용 요청
+     * - Retry-After 헤더로 다시 시도할 시간을 알려준다.
+     */
+    @ExceptionHandler(value = PointRequestRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePointRequestRejected(PointRequestRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfterSeconds()))
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    /**
+     * 포인트 정책 위반 (조회 결과 없음, 최대 포인트 초과, 잔액 부족, Idempotency-Key 충돌, 일괄 요청 건수 초과)
+     */
+    @ExceptionHandler(value = PointException.class)
+    public ResponseEntity<ErrorResponse> handlePointException(PointException e) {
+        return ResponseEntity.status(e.status())
+                .body(new ErrorResponse(String.valueOf(e.status()), e.getMessage()));
+    }
+
+    /**
+     * 작업 실행기가 요청을 받을 수 없는 경우
+     */
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("503", "요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+    }
 }
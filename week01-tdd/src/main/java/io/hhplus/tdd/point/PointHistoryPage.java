@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 페이지
+ * - nextCursor : 다음 페이지 요청 시 after 로 넘길 내역 id (다음 페이지가 없으면 null)
+ * - lastId : 페이지를 만들 때 사용자의 마지막 내역 id (내역이 없으면 0), 내역 ETag 로 사용한다.
+ */
+public record PointHistoryPage(
+        List<PointHistory> items,
+        Long nextCursor,
+        long lastId
+) {
+
+    public static PointHistoryPage empty() {
+        return new PointHistoryPage(List.of(), null, 0L);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 잔액 조회 결과
+ * - 찾은 경우 UserPoint 자체가 결과이므로 조회마다 감싸는 객체를 만들지 않는다.
+ * - 없는 경우 Absent.INSTANCE 를 반환하며, 예외나 UserPoint.empty 비교 없이 구분한다.
+ */
+public sealed interface PointLookup permits UserPoint, PointLookup.Absent {
+
+    static PointLookup absent() {
+        return Absent.INSTANCE;
+    }
+
+    enum Absent implements PointLookup {
+        INSTANCE
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 처리 요청의 개별 건 결과
+ * - 성공하면 userPoint, 실패하면 error 만 채워진다.
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+
+    public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), userPoint, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, ErrorResponse error) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), null, error);
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 사용자별 포인트 집계
+ * - totalCharged / totalUsed : 누적 충전/사용 금액
+ * - transactionCount : 충전/사용 건수
+ * - lastActivityMillis : 마지막 충전/사용 시각
+ * - hourly / daily : 최근 시간/일 단위 집계 (시각 오름차순, 활동이 없던 구간은 빠진다)
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long transactionCount,
+        long lastActivityMillis,
+        List<Bucket> hourly,
+        List<Bucket> daily
+) {
+
+    /**
+     * 한 구간의 집계
+     * - startMillis : 구간 시작 시각 (UTC 기준 정각/자정)
+     */
+    public record Bucket(
+            long startMillis,
+            long charged,
+            long used,
+            long count
+    ) {
+    }
+}
@@ -4,7 +4,7 @@ public record UserPoint(
         long id,
         long point,
         long updateMillis
-) {
+) implements PointLookup {
 
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point.admission;
+
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 충전/사용 요청의 입장 제어
+ * - 전체 동시 요청 수(max-in-flight)와 사용자별 대기 요청 수(max-per-user)를 제한한다.
+ * - 한도를 넘은 요청은 대기열에 쌓지 않고 바로 PointRequestRejectedException(429) 으로 거절한다.
+ * - 입장한 요청은 처리가 끝날 때 Permit 을 반납해야 한다.
+ * - point.admission.rejections (reason=global/user), point.admission.in-flight 로 계측한다.
+ */
+@Component
+public class PointAdmission {
+
+    private final int maxInFlight;
+    private final int maxPerUser;
+    private final long retryAfterSeconds;
+    private final Semaphore inFlight;
+    // 대기 요청이 있는 사용자만 남기고, 0 이 되면 제거한다.
+    private final ConcurrentHashMap<Long, Integer> perUser = new ConcurrentHashMap<>();
+
+    private final Counter globalRejections;
+    private final Counter userRejections;
+
+    public PointAdmission(@Value("${point.admission.max-in-flight:1000}") int maxInFlight,
+                          @Value("${point.admission.max-per-user:50}") int maxPerUser,
+                          @Value("${point.admission.retry-after:1s}") Duration retryAfter,
+                          PointMetrics pointMetrics) {
+        if (maxInFlight <= 0 || maxPerUser <= 0) {
+            throw new IllegalArgumentException("동시 요청 한도는 1 이상이어야 합니다.");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxPerUser = maxPerUser;
+        this.retryAfterSeconds = Math.max(1L, retryAfter.toSeconds());
+        this.inFlight = new Semaphore(maxInFlight);
+        this.globalRejections = counter(pointMetrics, "global");
+        this.userRejections = counter(pointMetrics, "user");
+        Gauge.builder("point.admission.in-flight", this, PointAdmission::inFlightCount)
+                .description("처리 중인 충전/사용 요청 수")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 요청 입장
+     * @param userId
+     * @return 처리가 끝나면 반납할 Permit
+     * @throws PointRequestRejectedException 전체 또는 사용자 한도를 넘은 경우
+     */
+    public Permit admit(long userId) {
+        if (!inFlight.tryAcquire()) {
+            globalRejections.increment();
+            throw new PointRequestRejectedException(retryAfterSeconds);
+        }
+
+        boolean[] admitted = new boolean[1];
+        perUser.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxPerUser) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        if (!admitted[0]) {
+            inFlight.release();
+            userRejections.increment();
+            throw new PointRequestRejectedException(retryAfterSeconds);
+        }
+        return new Permit(userId);
+    }
+
+    /**
+     * 처리 중인 요청 수
+     * @return 건수
+     */
+    public int inFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * 사용자의 처리 중인 요청 수
+     * @param userId
+     * @return 건수
+     */
+    public int userInFlightCount(long userId) {
+        return perUser.getOrDefault(userId, 0);
+    }
+
+    private void release(long userId) {
+        perUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        inFlight.release();
+    }
+
+    private static Counter counter(PointMetrics pointMetrics, String reason) {
+        return Counter.builder("point.admission.rejections")
+                .description("동시 요청 한도를 넘어 거절된 충전/사용 요청 수")
+                .tag("reason", reason)
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 입장한 요청의 처리 권한
+     * - 여러 번 반납해도 한 번만 반영된다.
+     */
+    public final class Permit {
+
+        private final long userId;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long userId) {
+            this.userId = userId;
+        }
+
+        public void release() {
+            // 완료 콜백과 실패 처리에서 함께 부를 수 있으므로 한 번만 반납한다.
+            if (released.compareAndSet(false, true)) {
+                PointAdmission.this.release(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 같은 사용자의 동시 잔액 조회를 한 번의 테이블 조회로 합치는 single-flight
+ * - 처음 온 조회(leader)만 테이블을 조회하고, 그동안 온 조회(follower)는 같은 결과를 기다린다.
+ * - 사용자별 쓰기 버전(stripe 단위)을 두어, 응답된 쓰기 이후에 온 조회는 그 이전에 시작된 조회에 합류하지 않는다.
+ *   합류한 조회는 자신이 본 버전 이후에 시작된 조회의 결과만 받으므로 응답된 쓰기보다 오래된 잔액을 받지 않는다.
+ * - point.read.coalescing (role=leader/follower), point.read.coalescing.ratio, point.read.inflight 로 계측한다.
+ */
+@Component
+public class PointReadCoalescer {
+
+    private final ConcurrentHashMap<Long, Flight> inflight = new ConcurrentHashMap<>();
+    // 같은 stripe 의 다른 사용자가 쓰면 합류하지 않을 뿐이므로, 사용자마다 버전을 두지 않는다.
+    private final AtomicLongArray writeVersions;
+    private final int mask;
+
+    private final Counter leaders;
+    private final Counter followers;
+
+    public PointReadCoalescer(@Value("${point.read.coalescing.stripes:1024}") int stripes,
+                              PointMetrics pointMetrics) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripe 수는 1 이상이어야 합니다.");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.writeVersions = new AtomicLongArray(size);
+        this.mask = writeVersions.length() - 1;
+        this.leaders = counter(pointMetrics, "leader");
+        this.followers = counter(pointMetrics, "follower");
+        Gauge.builder("point.read.coalescing.ratio", this, PointReadCoalescer::coalescedRatio)
+                .description("테이블을 조회하지 않고 진행 중인 조회에 합류한 비율")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.read.inflight", inflight, ConcurrentHashMap::size)
+                .description("진행 중인 잔액 조회 수")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 진행 중인 조회가 있으면 합류하고, 없으면 직접 조회
+     * @param id
+     * @param loader leader 에서만 호출된다.
+     * @return 조회 결과
+     */
+    public UserPoint load(long id, Supplier<UserPoint> loader) {
+        long version = writeVersions.get(stripe(id));
+        Flight created = new Flight(version);
+        Flight flight = inflight.compute(id, (key, current) ->
+                current != null && current.version >= version ? current : created);
+
+        if (flight != created) {
+            followers.increment();
+            return await(flight.result);
+        }
+
+        leaders.increment();
+        try {
+            UserPoint userPoint = loader.get();
+            created.result.complete(userPoint);
+            return userPoint;
+        } catch (RuntimeException e) {
+            created.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 더 새로운 조회로 교체되었다면 그대로 둔다.
+            inflight.remove(id, created);
+        }
+    }
+
+    /**
+     * 잔액 변경 기록
+     * - 쓰기를 응답하기 전에 호출해야 이후 조회가 이전 조회에 합류하지 않는다.
+     * @param id
+     */
+    public void written(long id) {
+        writeVersions.incrementAndGet(stripe(id));
+    }
+
+    /**
+     * 진행 중인 조회 수
+     * @return 건수
+     */
+    public int inflightSize() {
+        return inflight.size();
+    }
+
+    private double coalescedRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0.0 : followers.count() / total;
+    }
+
+    private int stripe(long id) {
+        return Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // leader 가 던진 예외(조회 결과 없음 등)를 그대로 전달한다.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(PointMetrics pointMetrics, String role) {
+        return Counter.builder("point.read.coalescing")
+                .description("잔액 조회의 single-flight 역할별 수")
+                .tag("role", role)
+                .register(pointMetrics.registry());
+    }
+
+    private static final class Flight {
+        private final long version;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Flight(long version) {
+            this.version = version;
+        }
+    }
+}
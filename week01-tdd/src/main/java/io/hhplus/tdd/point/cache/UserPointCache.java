@@ -0,0 +1,165 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserPoint write-through 캐시
+ * - 저장에 성공한 잔액을 그대로 넣어두고, 조회는 테이블보다 먼저 캐시를 본다.
+ * - 사용자 id 로 나눈 segment 마다 락과 LRU 순서를 따로 두어, 다른 segment 의 조회/저장은 서로를 기다리지 않는다.
+ *   최대 크기를 segment 에 나눠 주고, segment 안에서 가장 오래 사용되지 않은 사용자부터 제거한다. (근사 LRU)
+ * - segment 당 MIN_SEGMENT_SIZE 건 이상이 되도록 segment 수를 정하므로, 작은 캐시는 하나의 segment(정확한 LRU)가 된다.
+ * - ttl 이 지난 값은 조회되지 않는다.
+ * - 캐시 갱신은 사용자 락 안에서만 일어나야 쓰기보다 오래된 값이 들어가지 않는다.
+ */
+@Component
+public class UserPointCache {
+
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_SIZE = 1024;
+
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(@Value("${point.cache.max-size:100000}") int maxSize,
+                          @Value("${point.cache.ttl:10m}") Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다.");
+        }
+        this.ttlNanos = ttl.toNanos();
+        int count = 1;
+        while (count < MAX_SEGMENTS && (long) maxSize / (count << 1) >= MIN_SEGMENT_SIZE) {
+            count <<= 1;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // 나머지는 앞쪽 segment 에 한 건씩 더 줘서 전체 크기가 maxSize 가 되도록 한다.
+            segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * 캐시 조회
+     * @param id
+     * @return 캐시된 UserPoint, 없거나 만료되었으면 null
+     */
+    public UserPoint get(long id) {
+        Segment segment = segmentOf(id);
+        segment.lock.lock();
+        try {
+            Entry entry = segment.entries.get(id);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                segment.entries.remove(id);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.userPoint();
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시 저장
+     * @param userPoint
+     */
+    public void put(UserPoint userPoint) {
+        Segment segment = segmentOf(userPoint.id());
+        segment.lock.lock();
+        try {
+            segment.entries.put(userPoint.id(), new Entry(userPoint, System.nanoTime() + ttlNanos));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시 제거
+     * @param id
+     */
+    public void invalidate(long id) {
+        Segment segment = segmentOf(id);
+        segment.lock.lock();
+        try {
+            segment.entries.remove(id);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시 통계 조회
+     * @return CacheStats
+     */
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new CacheStats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private Segment segmentOf(long id) {
+        // 연속된 id 도 segment 에 고르게 나뉘도록 섞는다.
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return segments[(int) (hash >>> 40) & mask];
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Entry> entries;
+
+        private Segment(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private record Entry(UserPoint userPoint, long expireAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expireAtNanos >= 0;
+        }
+    }
+
+    public record CacheStats(
+            int size,
+            long hits,
+            long misses,
+            long evictions
+    ) {
+    }
+}
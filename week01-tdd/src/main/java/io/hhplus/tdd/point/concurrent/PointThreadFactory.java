@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 내부 작업 스레드 생성
+ * - spring.threads.virtual.enabled=true 이면 Tomcat 과 같이 내부 작업도 가상 스레드로 실행한다.
+ * - 대부분의 시간이 테이블 지연(sleep)으로 블로킹되므로, 가상 스레드는 캐리어 스레드를 거의 점유하지 않는다.
+ * - 가상 스레드가 캐리어에 고정(pinning)되지 않도록 내부 락은 synchronized 대신 ReentrantLock 을 사용한다.
+ */
+@Component
+public class PointThreadFactory {
+
+    private final boolean virtual;
+
+    public PointThreadFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 시작되지 않은 스레드 생성
+     * @param name
+     * @param task
+     * @return Thread
+     */
+    public Thread newThread(String name, Runnable task) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name).unstarted(task);
+        }
+        return Thread.ofPlatform().name(name).unstarted(task);
+    }
+
+    /**
+     * 작업 실행기 생성
+     * - 가상 스레드 모드에서는 작업마다 가상 스레드를 만들고, 동시 실행 수 제한은 호출하는 쪽에서 한다.
+     * @param name 스레드 이름 접두어
+     * @param threads 플랫폼 스레드 모드의 스레드 수
+     * @return ExecutorService
+     */
+    public ExecutorService newExecutor(String name, int threads) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(threadFactory(name));
+        }
+        return Executors.newFixedThreadPool(threads, threadFactory(name));
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name + "-", 0).factory();
+        }
+        return Thread.ofPlatform().name(name + "-", 0).daemon(true).factory();
+    }
+}
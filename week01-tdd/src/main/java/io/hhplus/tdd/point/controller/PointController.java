@@ -1,15 +1,32 @@
 package io.hhplus.tdd.point.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.PointSummary;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.PointAsyncService;
+import io.hhplus.tdd.point.service.PointBatchService;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.PointVersion;
+import io.hhplus.tdd.point.shard.ShardClient;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/point")
@@ -17,9 +34,22 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_LIMIT = 1000;
+
     private final PointService pointService;
-    public PointController(PointService pointService) {
+    private final PointAsyncService pointAsyncService;
+    private final PointBatchService pointBatchService;
+    private final ObjectMapper objectMapper;
+    public PointController(PointService pointService, PointAsyncService pointAsyncService,
+                           PointBatchService pointBatchService, ObjectMapper objectMapper) {
         this.pointService = pointService;
+        this.pointAsyncService = pointAsyncService;
+        this.pointBatchService = pointBatchService;
+        this.objectMapper = objectMapper;
     }
     @GetMapping("/")
     public String home() {
@@ -27,54 +57,219 @@ public class PointController {
     }
     /**
      * 특정 유저의 포인트를 조회하는 기능
+     * - 조회는 비동기 실행기에서 처리하고, 요청 스레드는 바로 반환된다.
+     * - 응답에 (updateMillis, point) 로 만든 ETag 를 넣고, If-None-Match 가 현재 버전과 같으면 테이블을 읽지 않고 304 를 반환한다.
      * @param id 유저 ID
+     * @param ifNoneMatch
      * @return UserPoint
      */
     @GetMapping("/{id}")
-    public UserPoint point(@PathVariable(name = "id") long id) throws Exception {
+    public CompletableFuture<ResponseEntity<UserPoint>> point(@PathVariable(name = "id") long id,
+                                                              @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         validLong(id);
 
-        return pointService.getUserPoint(id);
+        if (ifNoneMatch != null) {
+            PointVersion version = pointService.getVersion(id);
+            if (version.hasBalance() && matches(ifNoneMatch, balanceETag(version.updateMillis(), version.point()))) {
+                return CompletableFuture.completedFuture(notModified(balanceETag(version.updateMillis(), version.point())));
+            }
+        }
+        return pointAsyncService.getUserPoint(id).thenApply(userPoint -> ResponseEntity.ok()
+                .eTag(balanceETag(userPoint.updateMillis(), userPoint.point()))
+                .body(userPoint));
     }
 
     /**
      * 특정 유저의 포인트 충전/이용 내역을 조회하는 기능
+     * - after 로 넘긴 내역 id 다음부터 limit 건을 반환한다.
+     * - 다음 페이지가 있으면 X-Next-Cursor 헤더로 다음 after 값을 알려준다.
+     * - 응답에 사용자의 마지막 내역 id 로 만든 ETag 를 넣고, If-None-Match 가 현재 버전과 같으면 304 를 반환한다.
      * @param id 유저 ID
+     * @param after 마지막으로 받은 내역 ID
+     * @param limit 최대 건수
+     * @param ifNoneMatch
      * @return List<>
      */
-    @GetMapping("{id}/histories")
-    public List<PointHistory> history(@PathVariable long id) throws Exception {
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<List<PointHistory>>> history(@PathVariable long id,
+                                                                         @RequestParam(name = "after", defaultValue = "0") long after,
+                                                                         @RequestParam(name = "limit", defaultValue = "100") int limit,
+                                                                         @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         validLong(id);
+        validCursor(after, limit);
+
+        if (ifNoneMatch != null) {
+            PointVersion version = pointService.getVersion(id);
+            if (version.hasHistory() && matches(ifNoneMatch, historyETag(version.lastHistoryId()))) {
+                return CompletableFuture.completedFuture(notModified(historyETag(version.lastHistoryId())));
+            }
+        }
+        return pointAsyncService.getPointHistory(id, after, limit).thenApply(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(historyETag(page.lastId()));
+            if (page.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+            }
+            return response.body(page.items());
+        });
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 NDJSON 으로 스트리밍하는 기능
+     * - 목록을 만들지 않고 한 건씩 응답에 쓴다.
+     * @param id 유저 ID
+     * @param after 마지막으로 받은 내역 ID
+     * @param limit 최대 건수 (생략 시 전체)
+     * @return StreamingResponseBody
+     */
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHistory(@PathVariable long id,
+                                                               @RequestParam(name = "after", defaultValue = "0") long after,
+                                                               @RequestParam(name = "limit", required = false) Integer limit) throws Exception {
+        validLong(id);
+        if (after < 0 || (limit != null && limit <= 0)) {
+            throw new BadRequestException("after 는 0 이상, limit 은 1 이상이어야 합니다.");
+        }
+        int maxRows = limit == null ? Integer.MAX_VALUE : limit;
 
-        return pointService.getPointHistory(id);
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class);
+        StreamingResponseBody body = out -> {
+            try {
+                pointService.streamPointHistory(id, after, maxRows, pointHistory -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(pointHistory));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 집계를 조회하는 기능
+     * - 누적 충전/사용 금액, 건수, 마지막 활동 시각과 최근 시간/일 단위 집계를 반환한다.
+     * @param id 유저 ID
+     * @return PointSummary
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(@PathVariable long id) throws Exception {
+        validLong(id);
+        return pointService.getSummary(id);
     }
 
     /**
      * 특정 유저의 포인트를 충전하는 기능
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 충전하지 않고 처음 결과를 반환한다.
+     * - X-Request-Timeout(ms) 헤더가 있으면 그 시간 안에 처리되지 못한 요청은 충전하지 않고 버린다.
      * @param id
      * @param amount
+     * @param idempotencyKey
+     * @param requestTimeout
      * @return UserPoint
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge (@PathVariable long id, @RequestBody long amount) throws Exception {
+    public CompletableFuture<UserPoint> charge (@PathVariable long id, @RequestBody long amount,
+                                                @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                @RequestHeader(name = REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeout) throws Exception {
         validLong(id);
         validLong(amount);
+        validIdempotencyKey(idempotencyKey);
+        validRequestTimeout(requestTimeout);
 
-        return pointService.chargePoint(id, amount);
+        return pointAsyncService.chargePoint(id, amount, idempotencyKey, requestTimeout == null ? 0L : requestTimeout);
     }
 
     /**
      * 특정 유저의 포인트를 사용하는 기능
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 사용하지 않고 처음 결과를 반환한다.
+     * - X-Request-Timeout(ms) 헤더가 있으면 그 시간 안에 처리되지 못한 요청은 사용하지 않고 버린다.
      * @param id
      * @param amount
+     * @param idempotencyKey
+     * @param requestTimeout
      * @return UserPoint
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(@PathVariable long id, @RequestBody long amount) throws Exception {
+    public CompletableFuture<UserPoint> use(@PathVariable long id, @RequestBody long amount,
+                                            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                            @RequestHeader(name = REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeout) throws Exception {
         validLong(id);
         validLong(amount);
+        validIdempotencyKey(idempotencyKey);
+        validRequestTimeout(requestTimeout);
+
+        return pointAsyncService.usePoint(id, amount, idempotencyKey, requestTimeout == null ? 0L : requestTimeout);
+    }
 
-        return pointService.usePoint(id, amount);
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용하는 기능
+     * - 건별 성공/실패는 요청과 같은 순서의 결과 목록으로 반환한다.
+     * - 다른 shard 에서 전달된 요청은 다시 나누지 않고 이 인스턴스에서 처리한다.
+     *   (secret 이 맞지 않는 전달 헤더는 ShardForwardingFilter 가 지우므로 여기까지 오지 않는다)
+     * @param operations
+     * @param forwardedFrom
+     * @param requestTimeout 응답을 기다리는 시간(ms), 지나면 반영되지 않은 건은 504 로 실패한다.
+     * @return List<>
+     */
+    @PostMapping("batch")
+    public List<PointOperationResult> batch(@RequestBody List<PointOperation> operations,
+                                            @RequestHeader(name = ShardClient.FORWARDED_HEADER, required = false) String forwardedFrom,
+                                            @RequestHeader(name = REQUEST_TIMEOUT_HEADER, required = false) Long requestTimeout) throws Exception {
+        validRequestTimeout(requestTimeout);
+        return pointBatchService.execute(operations, forwardedFrom == null, requestTimeout == null ? 0L : requestTimeout);
+    }
+
+    private static String balanceETag(long updateMillis, long point) {
+        return "\"" + updateMillis + "-" + point + "\"";
+    }
+
+    private static String historyETag(long lastHistoryId) {
+        return "\"" + lastHistoryId + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        // If-None-Match 는 약한 비교이므로 W/ 접두어를 무시하고, 여러 값 중 하나만 같아도 된다.
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private static void validCursor(long after, int limit) throws Exception {
+        if (after < 0) {
+            throw new BadRequestException("after 는 0 이상의 정수여야 합니다.");
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit 은 1 이상 " + MAX_LIMIT + " 이하여야 합니다.");
+        }
+    }
+
+    private static void validIdempotencyKey(String idempotencyKey) throws Exception {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new BadRequestException("Idempotency-Key 는 1자 이상 " + MAX_IDEMPOTENCY_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+    }
+
+    private static void validRequestTimeout(Long requestTimeout) throws Exception {
+        if (requestTimeout != null && requestTimeout <= 0) {
+            throw new BadRequestException(REQUEST_TIMEOUT_HEADER + " 는 1 이상의 정수(ms)여야 합니다.");
+        }
     }
 
     private static void validLong(long num) throws Exception {
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 사용하려는 포인트가 잔액보다 많은 경우
+ */
+public class InsufficientPointException extends PointException {
+
+    public InsufficientPointException() {
+        super(409, "사용가능한 포인트가 없습니다.");
+    }
+}
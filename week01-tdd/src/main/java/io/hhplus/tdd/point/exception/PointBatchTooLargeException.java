@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 일괄 충전/사용 요청의 건수가 최대 건수를 넘는 경우
+ */
+public class PointBatchTooLargeException extends PointException {
+
+    public PointBatchTooLargeException(int maxSize) {
+        super(413, "한 번에 처리할 수 있는 최대 건수는 " + maxSize + " 입니다.");
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 처리 기한이 지나 테이블에 반영하지 않은 요청
+ * - 요청자가 이미 응답을 포기했으므로 잔액과 내역에 반영하지 않고 버린다.
+ */
+public class PointDeadlineExceededException extends PointException {
+
+    public PointDeadlineExceededException() {
+        super(504, "요청 처리 시간이 초과되었습니다.");
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 포인트 도메인 오류
+ * - 정책 위반처럼 예상된 실패이므로 stack trace 를 만들지 않는다.
+ * - ApiControllerAdvice 에서 status 그대로 ErrorResponse 로 바꾼다.
+ */
+public abstract class PointException extends RuntimeException {
+
+    private final int status;
+
+    protected PointException(int status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * 응답 상태 코드
+     * @return HTTP status
+     */
+    public int status() {
+        return status;
+    }
+}
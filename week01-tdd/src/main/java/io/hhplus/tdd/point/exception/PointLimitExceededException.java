@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 충전 후 잔액이 최대 포인트를 넘는 경우
+ */
+public class PointLimitExceededException extends PointException {
+
+    public PointLimitExceededException(long maxPoint) {
+        super(409, "충전 가능한 최대 포인트는 " + maxPoint + " 입니다.");
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 동시 처리 한도를 넘어 받지 않은 충전/사용 요청
+ * - 대기열에 쌓아두지 않고 바로 거절하며, 다시 시도할 시간을 함께 알려준다.
+ */
+public class PointRequestRejectedException extends PointException {
+
+    private final long retryAfterSeconds;
+
+    public PointRequestRejectedException(long retryAfterSeconds) {
+        super(429, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 다시 시도할 때까지 기다릴 시간
+     * @return 초
+     */
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 잔액이 없는 사용자를 조회하거나 사용하려는 경우
+ */
+public class UserPointNotFoundException extends PointException {
+
+    public UserPointNotFoundException() {
+        super(404, "조회 결과가 없습니다.");
+    }
+}
@@ -0,0 +1,402 @@
+package io.hhplus.tdd.point.hedge;
+
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointDeadlineExceededException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 조회의 hedged request 실행기
+ * - 첫 호출이 최근 지연의 percentile 값(delay)까지 끝나지 않으면 같은 호출을 한 번 더 보내고, 먼저 성공한 결과를 쓴다.
+ * - 첫 호출은 호출한 스레드에서 그대로 실행하고, 추가 호출만 실행기로 보낸다. (delay 는 타이머 스레드가 잰다)
+ *   추가 호출이 먼저 성공하거나 처리 기한이 지나면 호출한 스레드를 interrupt 해 첫 호출을 멈춘다.
+ *   그래서 첫 호출이 interrupt 에 반응해야(테이블 지연의 sleep 처럼) 늦어진 첫 호출을 기다리지 않는다.
+ * - 추가 호출은 전체 호출의 budget 비율(최대 BURST 건 적립)까지만 보내, 테이블이 느려질 때 부하가 두 배가 되지 않도록 한다.
+ * - 처리 기한이 지나면 두 호출을 모두 취소하고 PointDeadlineExceededException 을 던진다.
+ * - 표본이 RECOMPUTE_INTERVAL 건 쌓이기 전에는 delay 를 모르므로 추가 호출을 보내지 않는다.
+ * - point.hedge.calls, point.hedge.hedges (winner=primary/hedge), point.hedge.skipped (reason=budget/deadline),
+ *   point.hedge.rate, point.hedge.delay, point.hedge.tail.improvement 로 계측한다. (operation 태그)
+ */
+@Component
+public class HedgedReader {
+
+    /**
+     * 처리 기한 없음
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_INTERVAL = 128;
+    private static final double TAIL_PERCENTILE = 0.99;
+    // 추가 호출 1건 = UNIT, 호출마다 budget * UNIT 씩 적립한다.
+    private static final long UNIT = 1_000L;
+    private static final long BURST = 10L * UNIT;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long deposit;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+    // 호출이 쌓인 만큼만 추가 호출을 보내도록 비어 있는 상태로 시작한다.
+    private final AtomicLong budget = new AtomicLong();
+
+    public HedgedReader(@Value("${point.hedge.enabled:true}") boolean enabled,
+                        @Value("${point.hedge.percentile:0.9}") double percentile,
+                        @Value("${point.hedge.min-delay:10ms}") Duration minDelay,
+                        @Value("${point.hedge.budget:0.1}") double budget,
+                        @Value("${point.hedge.threads:64}") int threads,
+                        PointThreadFactory pointThreadFactory,
+                        PointMetrics pointMetrics) {
+        if (percentile <= 0 || percentile >= 1 || budget < 0 || budget > 1) {
+            throw new IllegalArgumentException("percentile 은 0 과 1 사이, budget 은 0 이상 1 이하여야 합니다.");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.deposit = Math.round(budget * UNIT);
+        this.executor = pointThreadFactory.newExecutor("point-hedge", threads);
+        this.timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = pointThreadFactory.newThread("point-hedge-timer", task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 대부분의 타이머는 첫 호출이 먼저 끝나 취소되므로 바로 큐에서 뺀다.
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.pointMetrics = pointMetrics;
+    }
+
+    /**
+     * 조회 실행
+     * - call 은 같은 값을 여러 번 조회해도 되는 읽기여야 한다.
+     * @param operation 계측과 지연 표본을 나누는 이름
+     * @param deadlineNanos System.nanoTime 기준 기한, 없으면 NO_DEADLINE
+     * @param call
+     * @return 먼저 성공한 호출의 결과
+     * @throws PointDeadlineExceededException 기한까지 성공한 호출이 없는 경우
+     */
+    public <T> T read(String operation, long deadlineNanos, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Operation stats = operations.computeIfAbsent(operation, this::register);
+        stats.calls.increment();
+        deposit();
+
+        long start = System.nanoTime();
+        long remaining = remaining(deadlineNanos, start);
+        if (remaining <= 0) {
+            stats.deadlineSkipped.increment();
+            throw new PointDeadlineExceededException();
+        }
+        long delayNanos = stats.delayNanos;
+        if (delayNanos >= remaining && deadlineNanos == NO_DEADLINE) {
+            // 추가 호출도 기한도 없으므로 타이머 없이 바로 호출한다.
+            T result = call.get();
+            stats.completed(start, System.nanoTime(), true, false);
+            return result;
+        }
+
+        Race<T> race = new Race<>(Thread.currentThread());
+        if (delayNanos < remaining) {
+            race.hedgeTimer = timer.schedule(() -> hedge(race, stats, call), delayNanos, TimeUnit.NANOSECONDS);
+        }
+        if (deadlineNanos != NO_DEADLINE) {
+            race.deadlineTimer = timer.schedule(() -> expire(race, stats), remaining, TimeUnit.NANOSECONDS);
+        }
+
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            if (!race.state.compareAndSet(Race.RUNNING, Race.PRIMARY_FAILED)) {
+                return lost(race, stats, start);
+            }
+            race.cancelTimers();
+            return awaitHedge(race, stats, start, deadlineNanos, e);
+        }
+        if (!race.state.compareAndSet(Race.RUNNING, Race.PRIMARY_DONE)) {
+            return lost(race, stats, start);
+        }
+        race.cancelTimers();
+        race.cancelHedge();
+        stats.completed(start, System.nanoTime(), true, race.hedged);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private <T> void hedge(Race<T> race, Operation stats, Supplier<T> call) {
+        if (race.state.get() != Race.RUNNING) {
+            return;
+        }
+        race.hedgeAttempted = true;
+        if (!withdraw()) {
+            stats.budgetSkipped.increment();
+            return;
+        }
+        try {
+            race.hedge = executor.submit(() -> {
+                T result = call.get();
+                race.hedgeSucceeded(result);
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 첫 호출만 기다린다.
+            return;
+        }
+        race.hedged = true;
+        // 그 사이 첫 호출이 끝났다면 첫 호출 쪽에서 이 추가 호출을 보지 못했을 수 있으므로 여기서 취소한다.
+        if (race.state.get() != Race.RUNNING) {
+            race.cancelHedge();
+        }
+    }
+
+    private <T> void expire(Race<T> race, Operation stats) {
+        if (race.state.compareAndSet(Race.RUNNING, Race.DEADLINE)) {
+            if (!race.hedgeAttempted) {
+                stats.deadlineSkipped.increment();
+            }
+            race.interruptCaller();
+        }
+    }
+
+    /**
+     * 추가 호출이 먼저 성공했거나 기한이 지나 호출한 스레드가 interrupt 된 경우
+     */
+    private <T> T lost(Race<T> race, Operation stats, long start) {
+        // 취소된 첫 호출은 적어도 지금까지 걸렸으므로 그 값을 표본에 남겨, delay 가 낮게 치우치지 않도록 한다.
+        stats.attempt(System.nanoTime() - start);
+        race.cancelTimers();
+        race.cancelHedge();
+        race.consumeInterrupt();
+        if (race.state.get() == Race.HEDGE_DONE) {
+            stats.completed(start, race.hedgeDoneNanos, false, true);
+            return race.hedgeResult;
+        }
+        throw new PointDeadlineExceededException();
+    }
+
+    /**
+     * 첫 호출이 실패했을 때 이미 보낸 추가 호출이 있으면 그 결과를 기다린다.
+     */
+    private <T> T awaitHedge(Race<T> race, Operation stats, long start, long deadlineNanos, RuntimeException failure) {
+        Future<T> hedge = race.hedge;
+        if (hedge == null) {
+            throw failure;
+        }
+        try {
+            T result = hedge.get(remaining(deadlineNanos, System.nanoTime()), TimeUnit.NANOSECONDS);
+            stats.completed(start, System.nanoTime(), false, true);
+            return result;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            throw new PointDeadlineExceededException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("조회가 중단되었습니다.", e);
+        } finally {
+            hedge.cancel(true);
+        }
+    }
+
+    private void deposit() {
+        long current;
+        do {
+            current = budget.get();
+            if (current >= BURST) {
+                return;
+            }
+        } while (!budget.compareAndSet(current, Math.min(BURST, current + deposit)));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - UNIT));
+        return true;
+    }
+
+    private static long remaining(long deadlineNanos, long now) {
+        return deadlineNanos == NO_DEADLINE ? Long.MAX_VALUE : deadlineNanos - now;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        // 조회가 던진 예외를 그대로 전달한다.
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new RuntimeException("조회에 실패했습니다.", e.getCause());
+    }
+
+    private Operation register(String operation) {
+        Operation stats = new Operation(operation);
+        Gauge.builder("point.hedge.rate", stats, Operation::hedgeRate)
+                .description("추가 호출을 보낸 조회 비율")
+                .tag("operation", operation)
+                .register(pointMetrics.registry());
+        Gauge.builder("point.hedge.delay", stats, s -> s.delayNanos == Long.MAX_VALUE ? Double.NaN : s.delayNanos / 1e6)
+                .description("추가 호출을 보내기까지 기다리는 시간")
+                .tag("operation", operation)
+                .baseUnit("milliseconds")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.hedge.tail.improvement", stats, s -> s.improvementNanos / 1e6)
+                .description("첫 호출 p99 대비 응답 p99 감소량 (취소된 첫 호출은 취소 시점까지로 계산한 하한)")
+                .tag("operation", operation)
+                .baseUnit("milliseconds")
+                .register(pointMetrics.registry());
+        return stats;
+    }
+
+    private Counter counter(String name, String description, String operation, String tag, String value) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .tag(tag, value)
+                .register(pointMetrics.registry());
+    }
+
+    private final class Operation {
+        private final LatencyWindow attempts = new LatencyWindow(SAMPLES);
+        private final LatencyWindow responses = new LatencyWindow(SAMPLES);
+        private final Counter calls;
+        private final Counter primaryWins;
+        private final Counter hedgeWins;
+        private final Counter budgetSkipped;
+        private final Counter deadlineSkipped;
+        private volatile long delayNanos = Long.MAX_VALUE;
+        private volatile long improvementNanos;
+
+        private Operation(String operation) {
+            this.calls = Counter.builder("point.hedge.calls")
+                    .description("hedged 조회 호출 수")
+                    .tag("operation", operation)
+                    .register(pointMetrics.registry());
+            this.primaryWins = counter("point.hedge.hedges", "추가 호출을 보낸 조회 수", operation, "winner", "primary");
+            this.hedgeWins = counter("point.hedge.hedges", "추가 호출을 보낸 조회 수", operation, "winner", "hedge");
+            this.budgetSkipped = counter("point.hedge.skipped", "추가 호출을 보내지 않은 조회 수", operation, "reason", "budget");
+            this.deadlineSkipped = counter("point.hedge.skipped", "추가 호출을 보내지 않은 조회 수", operation, "reason", "deadline");
+        }
+
+        private void completed(long start, long end, boolean primaryWon, boolean hedged) {
+            long elapsed = end - start;
+            responses.record(elapsed);
+            if (primaryWon) {
+                attempt(elapsed);
+            }
+            if (hedged) {
+                (primaryWon ? primaryWins : hedgeWins).increment();
+            }
+        }
+
+        private void attempt(long nanos) {
+            long recorded = attempts.record(nanos);
+            if (recorded >= RECOMPUTE_INTERVAL && recorded % RECOMPUTE_INTERVAL == 0) {
+                delayNanos = Math.max(minDelayNanos, attempts.percentile(percentile));
+                improvementNanos = Math.max(0L,
+                        attempts.percentile(TAIL_PERCENTILE) - responses.percentile(TAIL_PERCENTILE));
+            }
+        }
+
+        private double hedgeRate() {
+            double total = calls.count();
+            return total == 0 ? 0.0 : (primaryWins.count() + hedgeWins.count()) / total;
+        }
+    }
+
+    /**
+     * 한 번의 조회에서 첫 호출, 추가 호출, 기한 중 누가 먼저 끝났는지
+     * - 상태는 RUNNING 에서 한 번만 바뀌고, 추가 호출이나 기한이 이긴 경우에만 호출한 스레드를 interrupt 한다.
+     */
+    private static final class Race<T> {
+        private static final int RUNNING = 0;
+        private static final int PRIMARY_DONE = 1;
+        private static final int PRIMARY_FAILED = 2;
+        private static final int HEDGE_DONE = 3;
+        private static final int DEADLINE = 4;
+
+        private final Thread caller;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private volatile ScheduledFuture<?> hedgeTimer;
+        private volatile ScheduledFuture<?> deadlineTimer;
+        private volatile Future<T> hedge;
+        private volatile boolean hedgeAttempted;
+        private volatile boolean hedged;
+        private volatile T hedgeResult;
+        private volatile long hedgeDoneNanos;
+        private volatile boolean interruptSent;
+
+        private Race(Thread caller) {
+            this.caller = caller;
+        }
+
+        private void hedgeSucceeded(T result) {
+            // 상태를 바꾸기 전에 결과를 써 두어야, 상태를 본 호출한 스레드가 결과를 읽을 수 있다.
+            hedgeResult = result;
+            hedgeDoneNanos = System.nanoTime();
+            if (state.compareAndSet(RUNNING, HEDGE_DONE)) {
+                interruptCaller();
+            }
+        }
+
+        private void interruptCaller() {
+            caller.interrupt();
+            interruptSent = true;
+        }
+
+        private void consumeInterrupt() {
+            // 상태를 바꾼 쪽이 interrupt 를 보내기 직전일 수 있으므로 보낼 때까지 기다렸다가 지운다.
+            while (!interruptSent) {
+                Thread.onSpinWait();
+            }
+            Thread.interrupted();
+        }
+
+        private void cancelTimers() {
+            ScheduledFuture<?> hedgeTimer = this.hedgeTimer;
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+            }
+            ScheduledFuture<?> deadlineTimer = this.deadlineTimer;
+            if (deadlineTimer != null) {
+                deadlineTimer.cancel(false);
+            }
+        }
+
+        private void cancelHedge() {
+            Future<T> hedge = this.hedge;
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 지연 시간 표본
+ * - 고정 크기 ring 에 덮어쓰며, 백분위는 복사해 정렬한 뒤 구한다.
+ * - 백분위 계산은 표본이 일정 건수 쌓일 때만 호출하므로 기록 경로에는 정렬 비용이 없다.
+ */
+final class LatencyWindow {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final int mask;
+
+    LatencyWindow(int size) {
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        this.samples = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 표본 기록
+     * @param nanos
+     * @return 지금까지 기록된 건수
+     */
+    long record(long nanos) {
+        long recorded = count.getAndIncrement();
+        samples.set((int) (recorded & mask), nanos);
+        return recorded + 1;
+    }
+
+    /**
+     * 백분위 지연 시간
+     * @param percentile 0 ~ 1
+     * @return nanos, 표본이 없으면 -1
+     */
+    long percentile(double percentile) {
+        int size = (int) Math.min(count.get(), samples.length());
+        if (size == 0) {
+            return -1L;
+        }
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, index))];
+    }
+}
@@ -0,0 +1,475 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointDeadlineExceededException;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 포인트 내역 인덱스
+ * - PointHistoryTable.selectAllByUserId 는 전체 내역을 훑으므로, 사용자별 내역을 primitive 배열로 따로 모아둔다.
+ * - 사용자를 처음 조회할 때 테이블과 저장 대기 중인 내역으로 한 번만 채우고, 이후에는 충전/사용 시 뒤에 덧붙인다.
+ * - 채우는 동안에는 빈 UserHistory 를 먼저 등록해 두고 map 밖에서 테이블을 읽는다.
+ *   같은 사용자의 다른 조회는 적재가 끝나기를 기다리고, 그 사이 충전/사용 내역은 기다리지 않고 덧붙여 적재 결과와 합친다.
+ * - 조회 비용은 전체 내역 수가 아니라 해당 사용자의 내역 수에 비례한다.
+ * - seal-after 보다 오래된 내역은 seal-block-size 건씩 SealedHistoryBlock 으로 압축하고, 조회 시 순서대로 풀어 읽는다.
+ * - point.history.sealed.rows, point.history.sealed.bytes 로 압축된 내역을 계측한다.
+ */
+@Component
+public class PointHistoryIndex {
+
+    private static final SealedHistoryBlock[] NO_BLOCKS = new SealedHistoryBlock[0];
+
+    private final ConcurrentHashMap<Long, UserHistory> users = new ConcurrentHashMap<>();
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointMetrics pointMetrics;
+    private final HedgedReader hedgedReader;
+    private final int blockSize;
+    private final long sealAfterMillis;
+
+    private final LongAdder sealedRows = new LongAdder();
+    private final LongAdder sealedBytes = new LongAdder();
+
+    public PointHistoryIndex(PointHistoryTable pointHistoryTable, PointHistoryWriter pointHistoryWriter,
+                             PointMetrics pointMetrics, HedgedReader hedgedReader,
+                             @Value("${point.history.seal-block-size:128}") int blockSize,
+                             @Value("${point.history.seal-after:3d}") Duration sealAfter) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("봉인 블록 크기는 1 이상이어야 합니다.");
+        }
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.hedgedReader = hedgedReader;
+        this.blockSize = blockSize;
+        this.sealAfterMillis = sealAfter.toMillis();
+        Gauge.builder("point.history.sealed.rows", sealedRows, LongAdder::sum)
+                .description("압축 블록에 봉인된 내역 수")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.history.sealed.bytes", sealedBytes, LongAdder::sum)
+                .description("압축 블록의 크기")
+                .baseUnit("bytes")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 내역 추가
+     * - 아직 적재되지 않은 사용자는 첫 조회 때 테이블/저장 대기 내역에서 함께 읽히므로 건너뛴다.
+     * @param pointHistory PointHistoryWriter 에서 채번된 내역
+     */
+    public void append(PointHistory pointHistory) {
+        // 적재 중인 사용자라도 기다리지 않는다. 덧붙인 내역은 적재가 끝날 때 읽어 온 내역과 합쳐진다.
+        UserHistory history = users.get(pointHistory.userId());
+        if (history != null) {
+            history.append(pointHistory);
+        }
+    }
+
+    /**
+     * 저널에서 복구한 내역 추가
+     * - 복구는 테이블이 비어 있는 시작 시점에 하므로, 복구된 사용자는 테이블을 다시 읽지 않는다.
+     * @param id
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     */
+    public void restore(long id, long userId, long amount, TransactionType type, long updateMillis) {
+        users.computeIfAbsent(userId, key -> new UserHistory(4, true)).append(id, amount, type, updateMillis);
+    }
+
+    /**
+     * 사용자 내역 전체 조회
+     * @param userId
+     * @return id 오름차순 내역
+     */
+    public List<PointHistory> findAll(long userId) {
+        UserHistory history = load(userId, HedgedReader.NO_DEADLINE);
+        if (history == null) {
+            return List.of();
+        }
+        Snapshot snapshot = history.snapshot();
+        List<PointHistory> result = new ArrayList<>(snapshot.size());
+        snapshot.forEach(userId, 0L, Integer.MAX_VALUE, result::add);
+        return result;
+    }
+
+    /**
+     * 사용자 내역 페이지 조회
+     * @param userId
+     * @param afterId 이 id 보다 큰 내역부터 조회
+     * @param limit 최대 건수
+     * @return PointHistoryPage
+     */
+    public PointHistoryPage findPage(long userId, long afterId, int limit) {
+        return findPage(userId, afterId, limit, HedgedReader.NO_DEADLINE);
+    }
+
+    /**
+     * 사용자 내역 페이지 조회 (처리 기한 지정)
+     * - 처음 조회하는 사용자의 테이블 조회가 기한을 넘기면 PointDeadlineExceededException 을 던진다.
+     * @param userId
+     * @param afterId 이 id 보다 큰 내역부터 조회
+     * @param limit 최대 건수
+     * @param deadlineNanos System.nanoTime 기준 기한
+     * @return PointHistoryPage
+     */
+    public PointHistoryPage findPage(long userId, long afterId, int limit, long deadlineNanos) {
+        UserHistory history = load(userId, deadlineNanos);
+        if (history == null) {
+            return PointHistoryPage.empty();
+        }
+
+        Snapshot snapshot = history.snapshot();
+        int total = snapshot.size();
+        int from = snapshot.indexAfter(afterId);
+        int to = (int) Math.min((long) from + limit, total);
+
+        List<PointHistory> items = new ArrayList<>(Math.max(0, to - from));
+        snapshot.forEach(userId, afterId, limit, items::add);
+        Long nextCursor = to < total ? items.get(items.size() - 1).id() : null;
+        return new PointHistoryPage(items, nextCursor, snapshot.lastId());
+    }
+
+    /**
+     * 사용자 내역을 목록으로 만들지 않고 한 건씩 전달
+     * @param userId
+     * @param afterId 이 id 보다 큰 내역부터 전달
+     * @param limit 최대 건수
+     * @param action
+     */
+    public void forEach(long userId, long afterId, int limit, Consumer<PointHistory> action) {
+        UserHistory history = load(userId, HedgedReader.NO_DEADLINE);
+        if (history == null) {
+            return;
+        }
+        history.snapshot().forEach(userId, afterId, limit, action);
+    }
+
+    private UserHistory load(long userId, long deadlineNanos) {
+        while (true) {
+            UserHistory history = users.get(userId);
+            if (history == null) {
+                UserHistory loading = new UserHistory(4, false);
+                history = users.putIfAbsent(userId, loading);
+                if (history == null) {
+                    return fill(userId, loading, deadlineNanos);
+                }
+            }
+            Boolean found = await(history.loaded, deadlineNanos);
+            if (found != null) {
+                return found ? history : null;
+            }
+            // 먼저 적재하던 조회가 실패해 등록이 지워졌으므로 다시 적재한다.
+        }
+    }
+
+    private UserHistory fill(long userId, UserHistory history, long deadlineNanos) {
+        List<PointHistory> pending;
+        List<PointHistory> stored;
+        try {
+            // 빈 UserHistory 를 등록한 뒤에 읽으므로, 읽는 사이 기록된 내역은 append 로 덧붙는다.
+            // 저장 대기 내역을 먼저 읽어야 그 사이 테이블로 옮겨진 내역이 누락되지 않는다.
+            pending = pointHistoryWriter.pendingOf(userId);
+            // 테이블 id 는 재시작이나 저장 실패 이후 내역 id 와 다를 수 있으므로 내역 id 로 바꿔 합친다.
+            stored = pointHistoryWriter.fromTable(pointMetrics.table("point_history", "select_all",
+                    () -> hedgedReader.read("point_history.select_all", deadlineNanos,
+                            () -> pointHistoryTable.selectAllByUserId(userId))));
+        } catch (RuntimeException e) {
+            users.remove(userId, history);
+            history.loaded.complete(null);
+            throw e;
+        }
+
+        if (!history.fill(stored, pending)) {
+            // 내역이 없는 사용자는 등록하지 않아, 없는 id 조회로 인덱스가 커지지 않도록 한다.
+            users.remove(userId, history);
+            history.loaded.complete(false);
+            return null;
+        }
+        history.loaded.complete(true);
+        return history;
+    }
+
+    private static Boolean await(CompletableFuture<Boolean> loaded, long deadlineNanos) {
+        try {
+            if (deadlineNanos == HedgedReader.NO_DEADLINE) {
+                return loaded.get();
+            }
+            return loaded.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new PointDeadlineExceededException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("내역 조회가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 한 사용자의 append-only 내역
+     * - 최근 내역은 primitive 배열(hot)에, seal-after 보다 오래된 내역은 블록 단위로 압축(sealed)해 둔다.
+     * - hot 배열의 [0, size) 구간과 sealed 블록은 한 번 쓰이면 바뀌지 않고,
+     *   봉인할 때는 새 배열로 바꾸므로 스냅샷 이후에는 락 없이 읽는다.
+     * - loaded 는 적재가 끝나면 내역 유무로 완료된다. (적재가 실패하면 null)
+     */
+    final class UserHistory {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final CompletableFuture<Boolean> loaded;
+        private SealedHistoryBlock[] sealed = NO_BLOCKS;
+        private long[] ids;
+        private long[] amounts;
+        private long[] updateMillis;
+        private byte[] types;
+        private int size;
+
+        UserHistory(int capacity, boolean loaded) {
+            this.loaded = loaded ? CompletableFuture.completedFuture(true) : new CompletableFuture<>();
+            int initial = Math.max(4, capacity);
+            this.ids = new long[initial];
+            this.amounts = new long[initial];
+            this.updateMillis = new long[initial];
+            this.types = new byte[initial];
+        }
+
+        void append(PointHistory pointHistory) {
+            append(pointHistory.id(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+        }
+
+        void append(long id, long amount, TransactionType type, long millis) {
+            lock.lock();
+            try {
+                // id 는 사용자별로 증가하므로, 이미 적재된 내역은 다시 넣지 않는다.
+                if (lastId() >= id) {
+                    return;
+                }
+                if (size == ids.length) {
+                    grow();
+                }
+                ids[size] = id;
+                amounts[size] = amount;
+                updateMillis[size] = millis;
+                types[size] = (byte) type.ordinal();
+                size++;
+                // 적재 중에는 fill 이 hot 배열만 합치므로 봉인하지 않는다.
+                if (loaded.isDone()) {
+                    sealColdRows();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 테이블/저장 대기 내역과 적재 중에 덧붙은 내역을 id 순서로 합친다.
+         * @return 합친 내역이 있는지 여부
+         */
+        boolean fill(List<PointHistory> stored, List<PointHistory> pending) {
+            List<PointHistory> rows = new ArrayList<>(stored.size() + pending.size());
+            rows.addAll(stored);
+            rows.addAll(pending);
+            rows.sort(Comparator.comparingLong(PointHistory::id));
+
+            lock.lock();
+            try {
+                long[] appendedIds = ids;
+                long[] appendedAmounts = amounts;
+                long[] appendedMillis = updateMillis;
+                byte[] appendedTypes = types;
+                int appended = size;
+
+                int capacity = Math.max(4, rows.size() + appended);
+                ids = new long[capacity];
+                amounts = new long[capacity];
+                updateMillis = new long[capacity];
+                types = new byte[capacity];
+                size = 0;
+
+                int i = 0;
+                int j = 0;
+                while (i < rows.size() || j < appended) {
+                    if (j >= appended || (i < rows.size() && rows.get(i).id() <= appendedIds[j])) {
+                        PointHistory row = rows.get(i++);
+                        put(row.id(), row.amount(), (byte) row.type().ordinal(), row.updateMillis());
+                    } else {
+                        put(appendedIds[j], appendedAmounts[j], appendedTypes[j], appendedMillis[j]);
+                        j++;
+                    }
+                }
+                sealColdRows();
+                return size > 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(long id, long amount, byte type, long millis) {
+            // 테이블과 저장 대기 내역, 덧붙은 내역에 같은 id 가 있을 수 있다.
+            if (size > 0 && ids[size - 1] >= id) {
+                return;
+            }
+            ids[size] = id;
+            amounts[size] = amount;
+            updateMillis[size] = millis;
+            types[size] = type;
+            size++;
+        }
+
+        Snapshot snapshot() {
+            lock.lock();
+            try {
+                return new Snapshot(sealed, ids, amounts, updateMillis, types, size);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long lastId() {
+            if (size > 0) {
+                return ids[size - 1];
+            }
+            return sealed.length > 0 ? sealed[sealed.length - 1].lastId() : 0L;
+        }
+
+        private void sealColdRows() {
+            // 봉인 후에도 hot 에 한 블록 이상 남도록, 두 블록이 쌓였을 때만 확인한다.
+            if (size < blockSize * 2) {
+                return;
+            }
+            long cutoff = System.currentTimeMillis() - sealAfterMillis;
+            int from = 0;
+            while (size - from >= blockSize * 2 && isOlderThan(from, from + blockSize, cutoff)) {
+                from += blockSize;
+            }
+            if (from == 0) {
+                return;
+            }
+
+            SealedHistoryBlock[] blocks = Arrays.copyOf(sealed, sealed.length + from / blockSize);
+            long bytes = 0;
+            for (int i = 0; i < from / blockSize; i++) {
+                SealedHistoryBlock block = SealedHistoryBlock.encode(ids, amounts, updateMillis, types,
+                        i * blockSize, blockSize);
+                blocks[sealed.length + i] = block;
+                bytes += block.sizeInBytes();
+            }
+
+            // 진행 중인 스냅샷이 보고 있는 배열은 그대로 두고 남은 행을 새 배열로 옮긴다.
+            int capacity = Math.max(4, ids.length - from);
+            ids = Arrays.copyOfRange(ids, from, from + capacity);
+            amounts = Arrays.copyOfRange(amounts, from, from + capacity);
+            updateMillis = Arrays.copyOfRange(updateMillis, from, from + capacity);
+            types = Arrays.copyOfRange(types, from, from + capacity);
+            size -= from;
+            sealed = blocks;
+
+            sealedRows.add(from);
+            sealedBytes.add(bytes);
+        }
+
+        private boolean isOlderThan(int from, int to, long cutoff) {
+            // 시각은 대부분 증가하므로 마지막 행으로 먼저 거르고, 통과하면 전체를 확인한다.
+            if (updateMillis[to - 1] >= cutoff) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                if (updateMillis[i] >= cutoff) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void grow() {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            updateMillis = Arrays.copyOf(updateMillis, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+    }
+
+    record Snapshot(SealedHistoryBlock[] sealed, long[] ids, long[] amounts, long[] updateMillis, byte[] types,
+                    int hotSize) {
+
+        private static final TransactionType[] TYPES = TransactionType.values();
+
+        int size() {
+            int total = hotSize;
+            for (SealedHistoryBlock block : sealed) {
+                total += block.count();
+            }
+            return total;
+        }
+
+        long lastId() {
+            if (hotSize > 0) {
+                return ids[hotSize - 1];
+            }
+            return sealed.length > 0 ? sealed[sealed.length - 1].lastId() : 0L;
+        }
+
+        /**
+         * id 가 afterId 이하인 행 수 (= afterId 다음 행의 위치)
+         */
+        int indexAfter(long afterId) {
+            int index = 0;
+            for (SealedHistoryBlock block : sealed) {
+                if (block.lastId() > afterId) {
+                    return index + block.countUpTo(afterId);
+                }
+                index += block.count();
+            }
+            return index + hotIndexAfter(afterId);
+        }
+
+        /**
+         * id 가 afterId 보다 큰 행을 최대 limit 건 전달
+         * @return 전달한 건수
+         */
+        int forEach(long userId, long afterId, int limit, Consumer<PointHistory> action) {
+            int emitted = 0;
+            for (SealedHistoryBlock block : sealed) {
+                if (emitted >= limit) {
+                    return emitted;
+                }
+                if (block.lastId() > afterId) {
+                    emitted += block.forEach(userId, afterId, limit - emitted, action);
+                }
+            }
+            for (int i = hotIndexAfter(afterId); i < hotSize && emitted < limit; i++) {
+                action.accept(new PointHistory(ids[i], userId, amounts[i], TYPES[types[i]], updateMillis[i]));
+                emitted++;
+            }
+            return emitted;
+        }
+
+        private int hotIndexAfter(long afterId) {
+            int index = Arrays.binarySearch(ids, 0, hotSize, afterId);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+}
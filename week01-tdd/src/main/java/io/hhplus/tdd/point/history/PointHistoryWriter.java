@@ -0,0 +1,322 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 비동기 저장
+ * - 충전/사용 요청은 내역을 큐에 넣고 바로 반환하고, 백그라운드 writer 가 PointHistoryTable 에 저장한다.
+ * - 큐는 한 곳에서 도착 순서대로 꺼내 저장하므로 사용자별 순서가 유지된다.
+ * - 내역 id 는 큐에 넣을 때 채번하며, 응답/인덱스/저널 모두 이 id 를 쓴다.
+ *   저널 복구 후 이어서 채번하거나 저장하지 못한 내역이 있으면 테이블 id 와 차이가 생기므로,
+ *   차이가 바뀌는 테이블 id 를 기록해 두고 테이블에서 읽은 내역은 fromTable 로 내역 id 로 바꾼다.
+ * - 저장 전인 내역은 사용자별 pending 으로 조회할 수 있다. (read-your-writes)
+ * - 테이블 저장이 실패하면 MAX_INSERT_ATTEMPTS 번까지 다시 시도하고, 그래도 실패한 내역은 point.history.insert.failures 로 집계한다.
+ * - 종료 시 웹 서버가 요청을 멈춘 뒤 남은 내역을 모두 저장한다.
+ */
+@Component
+public class PointHistoryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 10L;
+    // Spring Boot 의 웹 서버 stop phase (WebServerStartStopLifecycle, DEFAULT_PHASE - 2048)
+    private static final int WEB_SERVER_PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointThreadFactory pointThreadFactory;
+    private final PointMetrics pointMetrics;
+    private final BlockingQueue<PointHistory> queue;
+    // userId → (내역 id → 내역). 사용자 조회가 다른 사용자의 대기 내역을 훑지 않도록 사용자별로 나눈다.
+    private final ConcurrentHashMap<Long, ConcurrentSkipListMap<Long, PointHistory>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // 테이블 id 구간 시작 → 그 구간의 (내역 id - 테이블 id). 저장 스레드만 갱신한다.
+    private final ConcurrentSkipListMap<Long, Long> idOffsets = new ConcurrentSkipListMap<>();
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Counter insertFailures;
+    private final Counter idRemaps;
+
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private long sequence = 1;
+    // 마지막으로 저장한 테이블 id (drainLock 안에서만 사용)
+    private long lastTableId;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PointHistoryWriter(PointHistoryTable pointHistoryTable,
+                              PointThreadFactory pointThreadFactory,
+                              PointMetrics pointMetrics,
+                              @Value("${point.history.queue-capacity:10000}") int queueCapacity,
+                              @Value("${point.history.batch-size:100}") int batchSize,
+                              @Value("${point.history.flush-interval:50ms}") Duration flushInterval) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointThreadFactory = pointThreadFactory;
+        this.pointMetrics = pointMetrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.insertFailures = Counter.builder("point.history.insert.failures")
+                .description("다시 시도해도 테이블에 저장하지 못한 내역 수")
+                .register(pointMetrics.registry());
+        this.idRemaps = Counter.builder("point.history.id.remaps")
+                .description("내역 id 와 테이블 id 의 차이가 바뀐 횟수")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 내역 저장 요청
+     * - 큐가 가득 차면 자리가 날 때까지 기다린다.
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     * @return 채번된 PointHistory
+     */
+    public PointHistory record(long userId, long amount, TransactionType type, long updateMillis) {
+        enqueueLock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(sequence, userId, amount, type, updateMillis);
+            // writer 가 저장 후 제거하므로 큐보다 pending 에 먼저 넣는다.
+            addPending(pointHistory);
+            try {
+                queue.put(pointHistory);
+            } catch (InterruptedException e) {
+                removePending(pointHistory);
+                throw e;
+            }
+            sequence++;
+            return pointHistory;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("포인트 내역 저장 요청이 중단되었습니다.", e);
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    /**
+     * 저널에서 복구한 마지막 id 다음부터 채번
+     * @param lastId
+     */
+    public void resumeAfter(long lastId) {
+        enqueueLock.lock();
+        try {
+            sequence = Math.max(sequence, lastId + 1);
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    /**
+     * 아직 테이블에 저장되지 않은 사용자 내역 조회
+     * - 테이블 저장이 끝난 뒤에 pending 에서 제거하므로, pending 을 먼저 읽고 테이블을 읽으면 누락이 없다.
+     * @param userId
+     * @return id 오름차순 내역
+     */
+    public List<PointHistory> pendingOf(long userId) {
+        ConcurrentSkipListMap<Long, PointHistory> rows = pending.get(userId);
+        return rows == null ? new ArrayList<>() : new ArrayList<>(rows.values());
+    }
+
+    /**
+     * 테이블에서 읽은 내역의 id 를 내역 id 로 변환
+     * - 테이블에 보이기 전에 변환 구간을 기록하므로, 테이블에서 읽은 내역은 항상 변환할 수 있다.
+     * @param stored PointHistoryTable 에서 읽은 내역
+     * @return 내역 id 로 바꾼 내역
+     */
+    public List<PointHistory> fromTable(List<PointHistory> stored) {
+        if (idOffsets.isEmpty()) {
+            return stored;
+        }
+        List<PointHistory> result = new ArrayList<>(stored.size());
+        for (PointHistory pointHistory : stored) {
+            Map.Entry<Long, Long> offset = idOffsets.floorEntry(pointHistory.id());
+            if (offset == null || offset.getValue() == 0L) {
+                result.add(pointHistory);
+            } else {
+                result.add(new PointHistory(pointHistory.id() + offset.getValue(), pointHistory.userId(),
+                        pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 테이블 저장을 기다리는 내역 수
+     * @return 건수
+     */
+    public int pendingSize() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 큐에 남은 내역을 호출한 스레드에서 모두 저장
+     */
+    public void flush() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        drainLock.lock();
+        try {
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = pointThreadFactory.newThread("point-history-writer", this::run);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        log.info("포인트 내역 writer 종료");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // phase 가 높은 것부터 멈추므로, 웹 서버보다 낮은 phase 를 써야 요청이 멈춘 뒤에 남은 내역을 저장한다.
+        return WEB_SERVER_PHASE - 1024;
+    }
+
+    private void run() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PointHistory first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drainLock.lock();
+                try {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                } finally {
+                    drainLock.unlock();
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<PointHistory> batch) {
+        for (PointHistory pointHistory : batch) {
+            try {
+                insert(pointHistory);
+            } finally {
+                removePending(pointHistory);
+            }
+        }
+    }
+
+    private void addPending(PointHistory pointHistory) {
+        // 비어서 지워지는 중인 사용자 map 에 넣지 않도록 추가와 제거 모두 compute 안에서 한다.
+        pending.compute(pointHistory.userId(), (userId, rows) -> {
+            ConcurrentSkipListMap<Long, PointHistory> userRows = rows == null ? new ConcurrentSkipListMap<>() : rows;
+            userRows.put(pointHistory.id(), pointHistory);
+            return userRows;
+        });
+        pendingCount.incrementAndGet();
+    }
+
+    private void removePending(PointHistory pointHistory) {
+        pending.computeIfPresent(pointHistory.userId(), (userId, rows) -> {
+            if (rows.remove(pointHistory.id()) != null) {
+                pendingCount.decrementAndGet();
+            }
+            return rows.isEmpty() ? null : rows;
+        });
+    }
+
+    private void insert(PointHistory pointHistory) {
+        // 이 writer 만 테이블에 저장하므로 다음 테이블 id 를 미리 알 수 있다.
+        // 조회가 테이블에서 이 내역을 읽기 전에 변환 구간이 있도록 저장 전에 기록한다.
+        long tableId = lastTableId + 1;
+        remap(tableId, pointHistory.id());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                PointHistory saved = pointMetrics.table("point_history", "insert", () -> pointHistoryTable.insert(
+                        pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis()));
+                if (saved != null && saved.id() != tableId) {
+                    // 다른 곳에서 테이블에 저장한 경우로, 이후 내역은 실제 테이블 id 기준으로 변환한다.
+                    log.warn("예상과 다른 테이블 id expected={} actual={} id={}", tableId, saved.id(), pointHistory.id());
+                    tableId = saved.id();
+                    remap(tableId, pointHistory.id());
+                }
+                lastTableId = tableId;
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_INSERT_ATTEMPTS) {
+                    // 요청자는 이미 응답을 받았으므로, 잃어버린 내역을 알 수 있도록 계측과 로그로 남긴다.
+                    insertFailures.increment();
+                    log.error("포인트 내역 저장 실패 attempts={} {}", attempt, pointHistory, e);
+                    return;
+                }
+                log.warn("포인트 내역 저장 재시도 attempt={} {}", attempt, pointHistory, e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException interrupted) {
+                    // 종료 중이면 기다리지 않고 바로 다시 시도한다.
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void remap(long tableId, long id) {
+        long offset = id - tableId;
+        Map.Entry<Long, Long> current = idOffsets.floorEntry(tableId);
+        if ((current == null ? 0L : current.getValue()) == offset) {
+            return;
+        }
+        // 저장하지 못한 내역의 구간은 아직 테이블에 없으므로 다음 내역의 값으로 덮어쓴다.
+        idOffsets.put(tableId, offset);
+        idRemaps.increment();
+    }
+}
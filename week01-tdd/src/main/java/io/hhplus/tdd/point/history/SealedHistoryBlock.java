@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 한 사용자의 오래된 내역 묶음을 압축해 둔 불변 블록
+ * - 행마다 (id 차이 << 1 | 종류), 시각 차이(zigzag), 금액(zigzag) 을 varint 로 이어 붙인다.
+ * - id 는 사용자 안에서 증가하므로 차이가 작고, TransactionType 은 id 차이의 최하위 1 bit 에 들어간다.
+ * - 중간 행을 바로 찾을 수 없으므로 앞에서부터 순서대로 읽는다.
+ */
+final class SealedHistoryBlock {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final int count;
+    private final long firstId;
+    private final long lastId;
+    private final long firstMillis;
+    private final byte[] data;
+
+    private SealedHistoryBlock(int count, long firstId, long lastId, long firstMillis, byte[] data) {
+        this.count = count;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.firstMillis = firstMillis;
+        this.data = data;
+    }
+
+    /**
+     * 배열의 [from, from + count) 구간을 블록으로 만든다.
+     * @return SealedHistoryBlock
+     */
+    static SealedHistoryBlock encode(long[] ids, long[] amounts, long[] updateMillis, byte[] types, int from, int count) {
+        // 행당 최대 10 + 10 + 10 byte 이지만 대부분 몇 byte 이므로 작게 시작해 늘린다.
+        byte[] buffer = new byte[Math.max(16, count * 6)];
+        int position = 0;
+        long prevId = ids[from];
+        long prevMillis = updateMillis[from];
+
+        for (int i = from; i < from + count; i++) {
+            if (buffer.length - position < 30) {
+                buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            }
+            position = writeVarint(buffer, position, ((ids[i] - prevId) << 1) | (types[i] & 1));
+            position = writeVarint(buffer, position, zigzag(updateMillis[i] - prevMillis));
+            position = writeVarint(buffer, position, zigzag(amounts[i]));
+            prevId = ids[i];
+            prevMillis = updateMillis[i];
+        }
+        return new SealedHistoryBlock(count, ids[from], ids[from + count - 1], updateMillis[from],
+                Arrays.copyOf(buffer, position));
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstId() {
+        return firstId;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    /**
+     * 압축된 크기
+     * @return byte
+     */
+    int sizeInBytes() {
+        return data.length;
+    }
+
+    /**
+     * id 가 afterId 이하인 행 수
+     * @param afterId
+     * @return 건수
+     */
+    int countUpTo(long afterId) {
+        if (afterId < firstId) {
+            return 0;
+        }
+        if (afterId >= lastId) {
+            return count;
+        }
+        Reader reader = new Reader(data);
+        long id = firstId;
+        for (int i = 0; i < count; i++) {
+            id += reader.next() >>> 1;
+            if (id > afterId) {
+                return i;
+            }
+            reader.skip();
+            reader.skip();
+        }
+        return count;
+    }
+
+    /**
+     * id 가 afterId 보다 큰 행을 최대 limit 건 전달
+     * @param userId
+     * @param afterId
+     * @param limit
+     * @param action
+     * @return 전달한 건수
+     */
+    int forEach(long userId, long afterId, int limit, Consumer<PointHistory> action) {
+        Reader reader = new Reader(data);
+        long id = firstId;
+        long millis = firstMillis;
+        int emitted = 0;
+        for (int i = 0; i < count && emitted < limit; i++) {
+            long head = reader.next();
+            id += head >>> 1;
+            millis += unzigzag(reader.next());
+            long amount = unzigzag(reader.next());
+            if (id > afterId) {
+                action.accept(new PointHistory(id, userId, amount, TYPES[(int) (head & 1)], millis));
+                emitted++;
+            }
+        }
+        return emitted;
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private long next() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private void skip() {
+            while (data[position++] < 0) {
+                // 연속 bit 가 꺼진 byte 까지 건너뛴다.
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과 캐시
+ * - 처음 온 요청만 실행하고, 같은 키의 재시도는 저장된 결과를 바로 돌려준다.
+ * - 실행 중에 온 재시도는 다시 실행하지 않고 진행 중인 결과를 함께 기다린다.
+ * - 실패한 요청은 잔액에 반영되지 않으므로 캐시에서 지워 재시도가 다시 실행되도록 한다.
+ * - 완료된 결과는 ttl 동안 보관하고, 최대 크기를 넘으면 오래된 키부터 제거한다.
+ * - point.idempotency.requests (result=hit/wait/miss/conflict), point.idempotency.size 로 계측한다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    // 생성 순서로 유지해 만료/초과 제거를 앞에서부터 한다.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private final Counter hits;
+    private final Counter waits;
+    private final Counter misses;
+    private final Counter conflicts;
+
+    public IdempotencyCache(@Value("${point.idempotency.max-size:100000}") int maxSize,
+                            @Value("${point.idempotency.ttl:10m}") Duration ttl,
+                            PointMetrics pointMetrics) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다.");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = counter(pointMetrics, "hit");
+        this.waits = counter(pointMetrics, "wait");
+        this.misses = counter(pointMetrics, "miss");
+        this.conflicts = counter(pointMetrics, "conflict");
+        Gauge.builder("point.idempotency.size", this, IdempotencyCache::size)
+                .description("보관 중인 Idempotency-Key 수")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 키 기준으로 한 번만 실행
+     * @param key Idempotency-Key
+     * @param request 요청 내용
+     * @param action 처음 온 요청에서만 호출된다.
+     * @return 처음 실행한 요청의 결과
+     */
+    public CompletableFuture<UserPoint> execute(String key, IdempotentRequest request,
+                                                Supplier<CompletableFuture<UserPoint>> action) {
+        CompletableFuture<UserPoint> result;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            removeExpired(now);
+
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.request().equals(request)) {
+                    conflicts.increment();
+                    return CompletableFuture.failedFuture(new IdempotencyKeyConflictException());
+                }
+                (entry.result().isDone() ? hits : waits).increment();
+                return entry.result();
+            }
+
+            result = new CompletableFuture<>();
+            entries.put(key, new Entry(request, result, now));
+            removeOverflow();
+            misses.increment();
+        } finally {
+            lock.unlock();
+        }
+
+        // 실행은 락 밖에서 하고, 실패했다면 기다리던 요청에 알리기 전에 키를 지운다.
+        try {
+            action.get().whenComplete((userPoint, e) -> {
+                if (e != null) {
+                    remove(key, result);
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(userPoint);
+                }
+            });
+        } catch (RuntimeException e) {
+            remove(key, result);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * 보관 중인 키 수
+     * @return 건수
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key, CompletableFuture<UserPoint> result) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.result() == result) {
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            // 실행 중인 키는 만료시키지 않는다. 이후 키는 더 늦게 생성되었으므로 볼 필요가 없다.
+            if (!entry.result().isDone() || now - entry.createdNanos() < ttlNanos) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void removeOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static Counter counter(PointMetrics pointMetrics, String result) {
+        return Counter.builder("point.idempotency.requests")
+                .description("Idempotency-Key 요청 수")
+                .tag("result", result)
+                .register(pointMetrics.registry());
+    }
+
+    private record Entry(IdempotentRequest request, CompletableFuture<UserPoint> result, long createdNanos) {
+    }
+}
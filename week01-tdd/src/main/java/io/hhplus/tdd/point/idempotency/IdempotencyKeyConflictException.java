@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.exception.PointException;
+
+/**
+ * 같은 Idempotency-Key 로 내용이 다른 요청을 보낸 경우
+ */
+public class IdempotencyKeyConflictException extends PointException {
+
+    public IdempotencyKeyConflictException() {
+        super(422, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+    }
+}
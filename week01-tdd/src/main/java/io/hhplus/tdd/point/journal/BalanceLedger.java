@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point.journal;
+
+import java.util.Arrays;
+
+/**
+ * 저널에 기록된 내역을 합산한 사용자별 잔액
+ * - 저널 append lock 안에서만 갱신/복사하므로 별도 동기화를 하지 않는다.
+ * - userId / 잔액을 long 배열 두 개의 같은 index 에 보관하는 open addressing 구조다.
+ */
+final class BalanceLedger {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] userIds;
+    private long[] balances;
+    private int size;
+
+    BalanceLedger(int capacity) {
+        int initial = 16;
+        while (initial < capacity * 2) {
+            initial <<= 1;
+        }
+        this.userIds = new long[initial];
+        this.balances = new long[initial];
+        Arrays.fill(userIds, EMPTY);
+    }
+
+    void add(long userId, long delta) {
+        int index = slotOf(userId);
+        balances[index] += delta;
+    }
+
+    void put(long userId, long balance) {
+        int index = slotOf(userId);
+        balances[index] = balance;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 빈 칸을 제외하고 복사
+     * @param targetUserIds size 이상 길이
+     * @param targetBalances size 이상 길이
+     */
+    void copyTo(long[] targetUserIds, long[] targetBalances) {
+        int count = 0;
+        for (int i = 0; i < userIds.length; i++) {
+            if (userIds[i] != EMPTY) {
+                targetUserIds[count] = userIds[i];
+                targetBalances[count] = balances[i];
+                count++;
+            }
+        }
+    }
+
+    private int slotOf(long userId) {
+        if ((size + 1) * 2 > userIds.length) {
+            grow();
+        }
+        int mask = userIds.length - 1;
+        int index = indexOf(userId, mask);
+        while (userIds[index] != EMPTY) {
+            if (userIds[index] == userId) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        userIds[index] = userId;
+        size++;
+        return index;
+    }
+
+    private void grow() {
+        long[] oldUserIds = userIds;
+        long[] oldBalances = balances;
+        userIds = new long[oldUserIds.length << 1];
+        balances = new long[oldUserIds.length << 1];
+        Arrays.fill(userIds, EMPTY);
+
+        int mask = userIds.length - 1;
+        for (int i = 0; i < oldUserIds.length; i++) {
+            if (oldUserIds[i] == EMPTY) {
+                continue;
+            }
+            int index = indexOf(oldUserIds[i], mask);
+            while (userIds[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            userIds[index] = oldUserIds[i];
+            balances[index] = oldBalances[i];
+        }
+    }
+
+    private static int indexOf(long userId, int mask) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.journal;
+
+/**
+ * 특정 저널 위치까지 반영된 전체 사용자 잔액
+ * @param records 스냅샷에 반영된 저널 레코드 수 (복구 시 이후 레코드만 재생)
+ * @param lastHistoryId 반영된 내역 중 가장 큰 id
+ * @param createdMillis
+ * @param userIds
+ * @param balances userIds 와 같은 index 의 잔액
+ */
+public record BalanceSnapshot(long records, long lastHistoryId, long createdMillis,
+                              long[] userIds, long[] balances) {
+
+    public static BalanceSnapshot empty() {
+        return new BalanceSnapshot(0L, 0L, System.currentTimeMillis(), new long[0], new long[0]);
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+}
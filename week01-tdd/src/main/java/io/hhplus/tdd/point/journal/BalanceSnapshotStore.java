@@ -0,0 +1,188 @@
+package io.hhplus.tdd.point.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 잔액 스냅샷 파일 저장/조회
+ * - 파일 이름은 반영된 저널 레코드 수이며, 가장 큰 파일이 최신이다.
+ * - 형식: magic, version, records, lastHistoryId, createdMillis, 사용자 수, (userId, 잔액) varint 목록, CRC32C
+ * - 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로, 쓰는 도중 장애가 나도 이전 스냅샷이 남는다.
+ * - 최신 retention 개만 남기고 오래된 파일은 지운다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class BalanceSnapshotStore {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "balance-";
+    private static final String SUFFIX = ".snapshot";
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotStore.class);
+
+    private final Path directory;
+    private final int retention;
+
+    public BalanceSnapshotStore(@Value("${point.snapshot.dir:./data/snapshot}") String directory,
+                                @Value("${point.snapshot.retention:3}") int retention) {
+        this.directory = Path.of(directory);
+        this.retention = Math.max(1, retention);
+    }
+
+    /**
+     * 스냅샷 저장
+     * @param snapshot
+     * @return 파일 크기 (byte)
+     */
+    public long write(BalanceSnapshot snapshot) {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, snapshot.records(), SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream raw = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                CRC32C crc = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(snapshot.records());
+                out.writeLong(snapshot.lastHistoryId());
+                out.writeLong(snapshot.createdMillis());
+                out.writeInt(snapshot.size());
+                for (int i = 0; i < snapshot.size(); i++) {
+                    writeVarLong(out, snapshot.userIds()[i]);
+                    writeVarLong(out, snapshot.balances()[i]);
+                }
+                out.flush();
+                new DataOutputStream(raw).writeInt((int) crc.getValue());
+                raw.flush();
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            long size = Files.size(target);
+            deleteExpired();
+            return size;
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔액 스냅샷 저장에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 읽을 수 있는 가장 최신 스냅샷 조회
+     * - 최신 파일이 손상되었다면 그 이전 파일을 사용한다.
+     * @return BalanceSnapshot (없으면 empty)
+     */
+    public Optional<BalanceSnapshot> loadLatest() {
+        for (Path path : snapshots()) {
+            try {
+                return Optional.of(read(path));
+            } catch (IOException | RuntimeException e) {
+                log.warn("잔액 스냅샷을 읽을 수 없어 이전 스냅샷을 사용합니다. {}", path, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private BalanceSnapshot read(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 4) {
+            throw new IOException("잔액 스냅샷이 비어 있습니다.");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        if ((int) crc.getValue() != buffer.getInt(bytes.length - 4)) {
+            throw new IOException("잔액 스냅샷 checksum 이 맞지 않습니다.");
+        }
+        buffer.limit(bytes.length - 4);
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("잔액 스냅샷 형식이 아닙니다.");
+            }
+            long records = buffer.getLong();
+            long lastHistoryId = buffer.getLong();
+            long createdMillis = buffer.getLong();
+            int size = buffer.getInt();
+            long[] userIds = new long[size];
+            long[] balances = new long[size];
+            for (int i = 0; i < size; i++) {
+                userIds[i] = readVarLong(buffer);
+                balances[i] = readVarLong(buffer);
+            }
+            return new BalanceSnapshot(records, lastHistoryId, createdMillis, userIds, balances);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("잔액 스냅샷이 잘려 있습니다.", e);
+        }
+    }
+
+    private void deleteExpired() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (Path path : snapshots.subList(Math.min(retention, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private List<Path> snapshots() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔액 스냅샷 목록을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        // 음수도 짧게 쓰도록 zigzag 로 바꾼 뒤 7bit 씩 기록한다.
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0L) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new IOException("잔액 스냅샷의 숫자 형식이 잘못되었습니다.");
+    }
+}
@@ -0,0 +1,152 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주기적인 잔액 스냅샷
+ * - point.snapshot.interval 마다 저널의 잔액을 복사해 파일로 남긴다.
+ * - 복사하는 동안만 저널 기록이 멈추고, 파일 저장은 기록과 동시에 진행된다.
+ * - 마지막 스냅샷 이후 기록이 없으면 건너뛰고, 종료 시 한 번 더 남겨 다음 시작 때 재생할 내역을 줄인다.
+ * - point.snapshot.duration (Timer), point.snapshot.size / point.snapshot.users (Gauge) 로 계측한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class BalanceSnapshotter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotter.class);
+
+    private final PointJournal pointJournal;
+    private final BalanceSnapshotStore balanceSnapshotStore;
+    private final PointThreadFactory pointThreadFactory;
+    private final long intervalMillis;
+
+    private final Timer duration;
+    private final AtomicLong lastSize = new AtomicLong();
+    private final AtomicLong lastUsers = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeup = lock.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private long lastRecords = -1;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public BalanceSnapshotter(PointJournal pointJournal, BalanceSnapshotStore balanceSnapshotStore,
+                              PointThreadFactory pointThreadFactory, PointMetrics pointMetrics,
+                              @Value("${point.snapshot.interval:5m}") Duration interval) {
+        this.pointJournal = pointJournal;
+        this.balanceSnapshotStore = balanceSnapshotStore;
+        this.pointThreadFactory = pointThreadFactory;
+        this.intervalMillis = interval.toMillis();
+        this.duration = Timer.builder("point.snapshot.duration")
+                .description("잔액 스냅샷 생성 시간")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.snapshot.size", lastSize, AtomicLong::get)
+                .description("마지막 잔액 스냅샷 파일 크기")
+                .baseUnit("bytes")
+                .register(pointMetrics.registry());
+        Gauge.builder("point.snapshot.users", lastUsers, AtomicLong::get)
+                .description("마지막 잔액 스냅샷의 사용자 수")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 스냅샷 생성
+     * @return 새로 저장했는지 여부
+     */
+    public boolean takeSnapshot() {
+        snapshotLock.lock();
+        try {
+            long start = System.nanoTime();
+            BalanceSnapshot snapshot = pointJournal.snapshot();
+            if (snapshot.records() == lastRecords) {
+                return false;
+            }
+            long size = balanceSnapshotStore.write(snapshot);
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            lastSize.set(size);
+            lastUsers.set(snapshot.size());
+            lastRecords = snapshot.records();
+            log.info("잔액 스냅샷 저장 records={} users={} size={}", snapshot.records(), snapshot.size(), size);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("잔액 스냅샷 저장 실패", e);
+            return false;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = pointThreadFactory.newThread("point-balance-snapshot", this::run);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            wakeup.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        takeSnapshot();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버(DEFAULT_PHASE - 2048)보다 낮은 phase 라야 웹 서버가 멈춘 뒤, 더 이상 기록이 없을 때 마지막 스냅샷을 남긴다.
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    private void run() {
+        while (running) {
+            // 저장 중인 파일 채널이 닫히지 않도록 interrupt 대신 signal 로 깨운다.
+            lock.lock();
+            try {
+                if (running) {
+                    wakeup.await(intervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (running) {
+                takeSnapshot();
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * memory-mapped 파일 기반 포인트 내역 저널
+ * - 내역 한 건을 40 byte 고정 길이 레코드로 segment 파일 뒤에 덧붙인다.
+ *   (id, userId, amount, updateMillis: long / type: int / checksum: int)
+ * - segment 가 가득 차면 다음 파일로 넘어간다.
+ * - fsync 는 group commit 으로 처리한다. 동시에 기다리는 요청들은 한 번의 force 로 함께 반영된다.
+ * - 시작 시 마지막 segment 에서 checksum 이 맞지 않는 레코드(쓰다 만 레코드)부터 뒤를 비우고 이어서 기록한다.
+ * - 기록한 내역은 사용자별 잔액(BalanceLedger)에도 합산해 두어, 스냅샷이 저널을 다시 읽지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "true")
+public class MappedPointJournal implements PointJournal {
+
+    static final int RECORD_SIZE = 40;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final String SUFFIX = ".journal";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointJournal.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // appendLock 안에서만 사용한다.
+    private final byte[] record = new byte[RECORD_SIZE];
+    private final ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+    private final CRC32C checksum = new CRC32C();
+    private final BalanceLedger ledger = new BalanceLedger(1024);
+
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private int syncedPosition;
+    // 저널 전체 레코드 수 (이전 실행분 포함)
+    private long appended;
+    private long lastHistoryId;
+    private volatile long durable;
+
+    public MappedPointJournal(@Value("${point.journal.dir:./data/journal}") String directory,
+                              @Value("${point.journal.segment-size:64MB}") DataSize segmentSize,
+                              @Value("${point.journal.fsync:true}") boolean fsync) {
+        this.directory = Path.of(directory);
+        long bytes = Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.segmentSize = (int) Math.max(RECORD_SIZE, bytes / RECORD_SIZE * RECORD_SIZE);
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(this.directory);
+            openTail();
+        } catch (IOException e) {
+            throw new IllegalStateException("포인트 저널을 열 수 없습니다. " + this.directory, e);
+        }
+    }
+
+    @Override
+    public void append(List<PointHistory> pointHistories) {
+        if (pointHistories.isEmpty()) {
+            return;
+        }
+        long target;
+        appendLock.lock();
+        try {
+            for (PointHistory pointHistory : pointHistories) {
+                write(pointHistory);
+            }
+            target = appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널 기록에 실패했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsync) {
+            sync(target);
+        }
+    }
+
+    @Override
+    public long replay(long fromRecord, RecordHandler handler) {
+        byte[] buffer = new byte[RECORD_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        CRC32C crc = new CRC32C();
+        long skip = fromRecord;
+        long count = 0;
+
+        try {
+            for (Path path : segments()) {
+                try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    // 스냅샷에 반영된 segment 는 읽지 않고 건너뛴다.
+                    long records = readChannel.size() / RECORD_SIZE;
+                    if (skip >= records) {
+                        skip -= records;
+                        continue;
+                    }
+                    MappedByteBuffer mapped = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                    int start = (int) (skip * RECORD_SIZE);
+                    skip = 0;
+                    for (int offset = start; offset + RECORD_SIZE <= mapped.capacity(); offset += RECORD_SIZE) {
+                        mapped.get(offset, buffer);
+                        if (!isValid(view, crc)) {
+                            break;
+                        }
+                        handler.handle(view.getLong(0), view.getLong(8), view.getLong(16),
+                                TYPES[view.getInt(32)], view.getLong(24));
+                        count++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널을 읽을 수 없습니다.", e);
+        }
+        return count;
+    }
+
+    @Override
+    public BalanceSnapshot snapshot() {
+        appendLock.lock();
+        try {
+            long[] userIds = new long[ledger.size()];
+            long[] balances = new long[ledger.size()];
+            ledger.copyTo(userIds, balances);
+            return new BalanceSnapshot(appended, lastHistoryId, System.currentTimeMillis(), userIds, balances);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(long userId, long balance) {
+        appendLock.lock();
+        try {
+            ledger.put(userId, balance);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void restoreLastHistoryId(long lastHistoryId) {
+        appendLock.lock();
+        try {
+            this.lastHistoryId = Math.max(this.lastHistoryId, lastHistoryId);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        appendLock.lock();
+        try {
+            segment.force();
+            channel.close();
+        } catch (IOException e) {
+            log.error("포인트 저널 종료 실패", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void write(PointHistory pointHistory) throws IOException {
+        if (position + RECORD_SIZE > segment.capacity()) {
+            roll();
+        }
+        recordBuffer.clear();
+        recordBuffer.putLong(pointHistory.id())
+                .putLong(pointHistory.userId())
+                .putLong(pointHistory.amount())
+                .putLong(pointHistory.updateMillis())
+                .putInt(pointHistory.type().ordinal());
+        checksum.reset();
+        checksum.update(record, 0, CHECKSUM_OFFSET);
+        recordBuffer.putInt((int) checksum.getValue());
+
+        segment.put(position, record);
+        position += RECORD_SIZE;
+        appended++;
+        lastHistoryId = Math.max(lastHistoryId, pointHistory.id());
+        ledger.add(pointHistory.userId(),
+                pointHistory.type() == TransactionType.CHARGE ? pointHistory.amount() : -pointHistory.amount());
+    }
+
+    private void sync(long target) {
+        if (durable >= target) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // 앞선 force 가 이 요청의 레코드까지 반영했다면 바로 반환한다.
+            if (durable >= target) {
+                return;
+            }
+            MappedByteBuffer current;
+            int from;
+            int to;
+            long upTo;
+            appendLock.lock();
+            try {
+                current = segment;
+                from = syncedPosition;
+                to = position;
+                upTo = appended;
+                syncedPosition = to;
+            } finally {
+                appendLock.unlock();
+            }
+            // force 중에도 다른 요청은 계속 기록하고, 다음 force 에서 함께 반영된다.
+            if (to > from) {
+                current.force(from, to - from);
+            }
+            durable = upTo;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        // 이전 segment 는 넘어가기 전에 모두 반영해, sync 는 현재 segment 만 신경 쓰면 된다.
+        segment.force();
+        channel.close();
+        openSegment(segmentIndex + 1);
+        position = 0;
+        syncedPosition = 0;
+    }
+
+    private void openTail() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(0);
+            return;
+        }
+        // 이전 segment 는 가득 찬 뒤에 넘어가므로 파일 크기로 레코드 수를 센다.
+        for (Path path : segments.subList(0, segments.size() - 1)) {
+            appended += Files.size(path) / RECORD_SIZE;
+        }
+        Path last = segments.get(segments.size() - 1);
+        openSegment(Long.parseLong(last.getFileName().toString().replace(SUFFIX, "")));
+
+        ByteBuffer view = ByteBuffer.wrap(record);
+        int offset = 0;
+        while (offset + RECORD_SIZE <= segment.capacity()) {
+            segment.get(offset, record);
+            if (!isValid(view, checksum)) {
+                break;
+            }
+            offset += RECORD_SIZE;
+        }
+        position = offset;
+        syncedPosition = offset;
+        appended += offset / RECORD_SIZE;
+        durable = appended;
+        clearFrom(offset);
+    }
+
+    private void clearFrom(int offset) {
+        // 비정상 종료로 끝 이후에 남은 레코드가 이어 쓴 레코드와 섞이지 않도록 비운다.
+        byte[] empty = new byte[RECORD_SIZE];
+        boolean cleared = false;
+        for (int i = offset; i + RECORD_SIZE <= segment.capacity(); i += RECORD_SIZE) {
+            segment.get(i, record);
+            if (!isZero(record)) {
+                segment.put(i, empty);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            segment.force();
+            log.warn("포인트 저널의 불완전한 레코드를 정리했습니다. segment={} offset={}", segmentIndex, offset);
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", index, SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size() > 0 ? channel.size() : segmentSize;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segmentIndex = index;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isValid(ByteBuffer view, CRC32C crc) {
+        // id 는 1부터 채번되므로 0 이면 비어 있는 칸이다.
+        if (view.getLong(0) == 0L) {
+            return false;
+        }
+        int type = view.getInt(32);
+        if (type < 0 || type >= TYPES.length) {
+            return false;
+        }
+        crc.reset();
+        crc.update(view.array(), 0, CHECKSUM_OFFSET);
+        return (int) crc.getValue() == view.getInt(CHECKSUM_OFFSET);
+    }
+
+    private static boolean isZero(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 저널을 사용하지 않을 때의 기본 구현
+ */
+@Component
+@ConditionalOnProperty(name = "point.journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpPointJournal implements PointJournal {
+
+    @Override
+    public void append(List<PointHistory> pointHistories) {
+    }
+
+    @Override
+    public long replay(long fromRecord, RecordHandler handler) {
+        return 0;
+    }
+
+    @Override
+    public BalanceSnapshot snapshot() {
+        return BalanceSnapshot.empty();
+    }
+
+    @Override
+    public void restore(long userId, long balance) {
+    }
+
+    @Override
+    public void restoreLastHistoryId(long lastHistoryId) {
+    }
+}
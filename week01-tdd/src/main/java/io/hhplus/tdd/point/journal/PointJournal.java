@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 저널
+ * - 충전/사용 내역을 재시작 후에도 복구할 수 있도록 남긴다.
+ * - point.journal.enabled 가 false 이면 아무것도 남기지 않는다. (NoOpPointJournal)
+ */
+public interface PointJournal {
+
+    /**
+     * 내역 추가
+     * - fsync 를 사용하면 디스크에 반영된 뒤 반환한다.
+     * @param pointHistories id 오름차순 내역
+     */
+    void append(List<PointHistory> pointHistories);
+
+    /**
+     * 저장된 내역을 기록 순서대로 전달
+     * @param fromRecord 건너뛸 앞쪽 레코드 수 (스냅샷에 반영된 레코드)
+     * @param handler
+     * @return 전달한 건수
+     */
+    long replay(long fromRecord, RecordHandler handler);
+
+    /**
+     * 현재까지 기록된 레코드 수와 그 시점의 사용자별 잔액
+     * - 기록을 잠시 멈추고 잔액 배열만 복사하므로, 파일 저장은 기록과 동시에 진행할 수 있다.
+     * @return BalanceSnapshot
+     */
+    BalanceSnapshot snapshot();
+
+    /**
+     * 복구한 잔액을 이후 스냅샷의 기준으로 등록
+     * @param userId
+     * @param balance
+     */
+    void restore(long userId, long balance);
+
+    /**
+     * 복구한 마지막 내역 id 를 이후 스냅샷의 기준으로 등록
+     * @param lastHistoryId
+     */
+    void restoreLastHistoryId(long lastHistoryId);
+
+    /**
+     * 내역 한 건을 객체 없이 전달받는다.
+     */
+    @FunctionalInterface
+    interface RecordHandler {
+        void handle(long id, long userId, long amount, TransactionType type, long updateMillis);
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.journal;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.store.PointStore;
+import io.hhplus.tdd.point.store.TablePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시 스냅샷과 저널로 내역과 잔액 복구
+ * - 잔액은 최신 스냅샷을 읽고, 스냅샷 이후 저널 레코드만 더해 PointStore 에 채운다.
+ * - 내역은 point.journal.restore-history 가 true 이면 저널 전체를 PointHistoryIndex 에 채운다.
+ *   false 이면 스냅샷 이후 레코드만 읽어 더 빨리 시작하지만, 재시작 전 내역은 조회되지 않는다.
+ * - 사용자별 집계도 내역과 같이 채우므로, restore-history 가 false 이면 재시작 후 기록된 내역만 집계된다.
+ * - 요청을 받기 전(빈 초기화 단계)에 끝나며, 내역 writer 는 복구된 마지막 id 다음부터 채번한다.
+ *   새로 시작한 테이블의 id 는 1 부터이므로, 테이블에서 읽은 내역은 writer 가 내역 id 로 바꿔 준다.
+ * - 잔액을 사용자마다 한 번씩 저장하므로 point.store.type=primitive 와 함께 사용해야 한다.
+ *   UserPointTable 은 저장마다 최대 300ms 가 걸려 사용자 수만큼 시작이 늦어지므로, 저널과 함께 설정하면 시작하지 않는다.
+ */
+@Component
+public class PointJournalRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournalRecovery.class);
+
+    private final PointJournal pointJournal;
+    private final Optional<BalanceSnapshotStore> balanceSnapshotStore;
+    private final PointStore pointStore;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointAggregates pointAggregates;
+    private final boolean restoreHistory;
+
+    public PointJournalRecovery(PointJournal pointJournal, Optional<BalanceSnapshotStore> balanceSnapshotStore,
+                                PointStore pointStore, PointHistoryIndex pointHistoryIndex,
+                                PointHistoryWriter pointHistoryWriter, PointAggregates pointAggregates,
+                                @Value("${point.journal.restore-history:true}") boolean restoreHistory) {
+        if (!(pointJournal instanceof NoOpPointJournal) && pointStore instanceof TablePointStore) {
+            throw new IllegalArgumentException("point.journal.enabled 가 true 이면 point.store.type 은 primitive 여야 합니다.");
+        }
+        this.pointJournal = pointJournal;
+        this.balanceSnapshotStore = balanceSnapshotStore;
+        this.pointStore = pointStore;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointAggregates = pointAggregates;
+        this.restoreHistory = restoreHistory;
+    }
+
+    /**
+     * 스냅샷 적재 후 저널 재생
+     * @return 잔액에 반영한 저널 레코드 수
+     */
+    @PostConstruct
+    public long recover() {
+        long start = System.nanoTime();
+        BalanceSnapshot snapshot = balanceSnapshotStore.flatMap(BalanceSnapshotStore::loadLatest)
+                .orElse(BalanceSnapshot.empty());
+
+        BalanceLedger ledger = new BalanceLedger(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            ledger.put(snapshot.userIds()[i], snapshot.balances()[i]);
+        }
+
+        long from = snapshot.records();
+        long[] position = {restoreHistory ? 0L : from};
+        long[] lastId = {snapshot.lastHistoryId()};
+        long[] tail = {0L};
+        pointJournal.replay(position[0], (id, userId, amount, type, updateMillis) -> {
+            if (restoreHistory) {
+                pointHistoryIndex.restore(id, userId, amount, type, updateMillis);
+                pointAggregates.restore(userId, amount, type, updateMillis);
+            }
+            // 스냅샷에 이미 반영된 레코드는 잔액에 다시 더하지 않는다.
+            if (position[0]++ >= from) {
+                ledger.add(userId, type == TransactionType.CHARGE ? amount : -amount);
+                tail[0]++;
+            }
+            lastId[0] = Math.max(lastId[0], id);
+        });
+        if (ledger.size() == 0) {
+            return 0;
+        }
+
+        long[] userIds = new long[ledger.size()];
+        long[] balances = new long[ledger.size()];
+        ledger.copyTo(userIds, balances);
+        for (int i = 0; i < userIds.length; i++) {
+            pointStore.insertOrUpdate(userIds[i], balances[i]);
+            pointJournal.restore(userIds[i], balances[i]);
+        }
+        pointJournal.restoreLastHistoryId(lastId[0]);
+        pointHistoryWriter.resumeAfter(lastId[0]);
+        log.info("포인트 복구 완료 snapshotRecords={} tailRecords={} users={} elapsed={}ms", from, tail[0],
+                userIds.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return tail[0];
+    }
+}
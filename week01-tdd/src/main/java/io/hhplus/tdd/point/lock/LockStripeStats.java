@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * stripe 별 락 대기 통계
+ * - queueLength : 현재 락을 기다리는 스레드 수(추정치)
+ * - acquisitions : 누적 락 획득 횟수
+ * - totalWaitNanos : 누적 대기 시간
+ * - maxWaitNanos : 최대 대기 시간
+ */
+public record LockStripeStats(
+        int stripe,
+        int queueLength,
+        long acquisitions,
+        long totalWaitNanos,
+        long maxWaitNanos
+) {
+}
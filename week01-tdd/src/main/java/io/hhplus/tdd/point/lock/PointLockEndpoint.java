@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * stripe 수 튜닝을 위한 락 대기 통계 조회 (/actuator/pointlocks)
+ */
+@Component
+@Endpoint(id = "pointlocks")
+public class PointLockEndpoint {
+
+    private static final int TOP_STRIPES = 20;
+
+    private final UserLockManager userLockManager;
+
+    public PointLockEndpoint(UserLockManager userLockManager) {
+        this.userLockManager = userLockManager;
+    }
+
+    /**
+     * 전체 합계와 대기 시간이 가장 긴 stripe 목록 반환
+     * @return PointLockReport
+     */
+    @ReadOperation
+    public PointLockReport report() {
+        List<LockStripeStats> stats = userLockManager.stats();
+
+        int queued = 0;
+        long acquisitions = 0;
+        long waitNanos = 0;
+        for (LockStripeStats stat : stats) {
+            queued += stat.queueLength();
+            acquisitions += stat.acquisitions();
+            waitNanos += stat.totalWaitNanos();
+        }
+
+        List<LockStripeStats> hottest = stats.stream()
+                .filter(stat -> stat.acquisitions() > 0)
+                .sorted(Comparator.comparingLong(LockStripeStats::totalWaitNanos).reversed())
+                .limit(TOP_STRIPES)
+                .toList();
+
+        return new PointLockReport(stats.size(), queued, acquisitions, waitNanos, hottest);
+    }
+
+    public record PointLockReport(
+            int stripes,
+            int queueLength,
+            long acquisitions,
+            long totalWaitNanos,
+            List<LockStripeStats> hottestStripes
+    ) {
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 고정 개수의 fair ReentrantLock 을 사용자 id 해시로 나눠 쓰는 락 관리자
+ * - stripe 수가 고정이라 사용자가 늘어나도 락 객체가 쌓이지 않는다.
+ * - fair 락이므로 같은 stripe 안에서는 도착 순서대로 락을 얻는다.
+ */
+@Component
+public class StripedUserLockManager implements UserLockManager {
+
+    private final ReentrantLock[] locks;
+    private final LongAdder[] acquisitions;
+    private final LongAdder[] waitNanos;
+    private final AtomicLongArray maxWaitNanos;
+    private final int mask;
+
+    public StripedUserLockManager(@Value("${point.lock.stripes:1024}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripe 수는 1 이상이어야 합니다.");
+        }
+        // 비트 연산으로 stripe 를 고르기 위해 2의 거듭제곱으로 올림
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        this.acquisitions = new LongAdder[size];
+        this.waitNanos = new LongAdder[size];
+        this.maxWaitNanos = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock(true);
+            acquisitions[i] = new LongAdder();
+            waitNanos[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> task) {
+        int stripe = stripeOf(userId);
+        ReentrantLock lock = locks[stripe];
+
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            recordWait(stripe, System.nanoTime() - start);
+            return task.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<LockStripeStats> stats() {
+        List<LockStripeStats> stats = new ArrayList<>(locks.length);
+        for (int i = 0; i < locks.length; i++) {
+            stats.add(new LockStripeStats(
+                    i,
+                    locks[i].getQueueLength(),
+                    acquisitions[i].sum(),
+                    waitNanos[i].sum(),
+                    maxWaitNanos.get(i)
+            ));
+        }
+        return stats;
+    }
+
+    @Override
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    @Override
+    public int inFlight(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        return lock.getQueueLength() + (lock.isLocked() ? 1 : 0);
+    }
+
+    public int stripeOf(long userId) {
+        // 연속된 id 가 이웃 stripe 에 몰리지 않도록 해시를 섞는다.
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void recordWait(int stripe, long nanos) {
+        acquisitions[stripe].increment();
+        waitNanos[stripe].add(nanos);
+        maxWaitNanos.accumulateAndGet(stripe, nanos, Math::max);
+    }
+}
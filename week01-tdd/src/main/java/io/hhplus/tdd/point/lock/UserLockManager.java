@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 id 단위 락 관리
+ * - 같은 id 에 대한 작업은 도착 순서대로 하나씩 실행된다.
+ * - 다른 id 에 대한 작업은 서로의 순서를 보장하지 않는다. 다만 구현이 락을 여러 id 가 나눠 쓰면(StripedUserLockManager 의 stripe)
+ *   같은 락에 속한 다른 id 의 작업은 서로를 기다릴 수 있다.
+ */
+public interface UserLockManager {
+
+    /**
+     * 사용자 락을 획득한 상태로 작업 실행
+     * @param userId
+     * @param task
+     * @return task 실행 결과
+     */
+    <T> T executeWithLock(long userId, Supplier<T> task);
+
+    /**
+     * 락 대기 통계 조회
+     * @return stripe 별 통계
+     */
+    List<LockStripeStats> stats();
+
+    /**
+     * stripe 수 조회
+     * @return stripe 수
+     */
+    int stripeCount();
+
+    /**
+     * stripe 에서 실행 중이거나 대기 중인 작업 수 조회
+     * @param stripe
+     * @return 작업 수(추정치)
+     */
+    int inFlight(int stripe);
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.LockStripeStats;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 포인트 구성 요소의 상태 지표 등록
+ * - point.lock.* : stripe 락 대기/실행 중 작업 수와 누적 대기 시간
+ * - point.cache.* : 잔액 캐시 크기와 hit/miss/eviction
+ * - point.history.* : 내역 저장 대기 건수
+ * - stripe 별 gauge 는 시계열이 stripe 수만큼 늘어나므로 point.metrics.per-stripe=true 일 때만 등록한다.
+ */
+@Component
+public class PointMeterBinder implements MeterBinder {
+
+    private final UserLockManager userLockManager;
+    private final UserPointCache userPointCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final boolean perStripe;
+
+    public PointMeterBinder(UserLockManager userLockManager,
+                            UserPointCache userPointCache,
+                            PointHistoryWriter pointHistoryWriter,
+                            @Value("${point.metrics.per-stripe:false}") boolean perStripe) {
+        this.userLockManager = userLockManager;
+        this.userPointCache = userPointCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.perStripe = perStripe;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindLocks(registry);
+        bindCache(registry);
+
+        Gauge.builder("point.history.pending", pointHistoryWriter, PointHistoryWriter::pendingSize)
+                .description("테이블 저장을 기다리는 내역 수")
+                .register(registry);
+    }
+
+    private void bindLocks(MeterRegistry registry) {
+        Gauge.builder("point.lock.inflight", userLockManager, PointMeterBinder::totalInFlight)
+                .description("사용자 락에서 실행 중이거나 대기 중인 작업 수")
+                .register(registry);
+        Gauge.builder("point.lock.inflight.max", userLockManager, PointMeterBinder::maxInFlight)
+                .description("가장 붐비는 stripe 의 작업 수")
+                .register(registry);
+        FunctionTimer.builder("point.lock.wait", userLockManager,
+                        manager -> sum(manager, LockStripeStats::acquisitions),
+                        manager -> sum(manager, LockStripeStats::totalWaitNanos),
+                        TimeUnit.NANOSECONDS)
+                .description("사용자 락 대기 시간")
+                .register(registry);
+
+        if (perStripe) {
+            for (int stripe = 0; stripe < userLockManager.stripeCount(); stripe++) {
+                int index = stripe;
+                Gauge.builder("point.lock.stripe.inflight", userLockManager, manager -> manager.inFlight(index))
+                        .tag("stripe", String.valueOf(index))
+                        .register(registry);
+            }
+        }
+    }
+
+    private void bindCache(MeterRegistry registry) {
+        Gauge.builder("point.cache.size", userPointCache, cache -> cache.stats().size())
+                .description("잔액 캐시에 저장된 사용자 수")
+                .register(registry);
+        cacheCounter(registry, "point.cache.requests", "hit", cache -> cache.stats().hits());
+        cacheCounter(registry, "point.cache.requests", "miss", cache -> cache.stats().misses());
+        FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().evictions())
+                .description("크기 초과 또는 ttl 만료로 제거된 수")
+                .register(registry);
+    }
+
+    private void cacheCounter(MeterRegistry registry, String name, String result, ToDoubleFunction<UserPointCache> value) {
+        FunctionCounter.builder(name, userPointCache, value)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static double totalInFlight(UserLockManager manager) {
+        int total = 0;
+        for (int stripe = 0; stripe < manager.stripeCount(); stripe++) {
+            total += manager.inFlight(stripe);
+        }
+        return total;
+    }
+
+    private static double maxInFlight(UserLockManager manager) {
+        int max = 0;
+        for (int stripe = 0; stripe < manager.stripeCount(); stripe++) {
+            max = Math.max(max, manager.inFlight(stripe));
+        }
+        return max;
+    }
+
+    private static long sum(UserLockManager manager, ToLongFunction<LockStripeStats> value) {
+        return manager.stats().stream().mapToLong(value).sum();
+    }
+}
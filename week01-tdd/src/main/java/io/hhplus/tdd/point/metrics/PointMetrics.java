@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 처리 구간 계측
+ * - point.operation : 서비스 연산별 처리 시간 (operation, outcome)
+ * - point.table : 테이블 호출별 처리 시간 (table, operation, outcome)
+ * - point.policy.rejections : 정책 위반으로 거절된 요청 수 (reason)
+ * - 타이머는 percentile histogram 을 함께 내보내므로 Prometheus 에서 p99 등을 계산할 수 있다.
+ */
+@Component
+public class PointMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    // 연산마다 문자열 키를 만들지 않도록 [success, error] 배열로 캐시한다.
+    private final ConcurrentHashMap<String, Timer[]> operationTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Timer[]>> tableTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public MeterRegistry registry() {
+        return meterRegistry;
+    }
+
+    /**
+     * 서비스 연산 계측
+     * @param operation
+     * @param call
+     * @return call 결과
+     */
+    public <T> T operation(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = call.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            operationTimer(operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 테이블 호출 계측
+     * @param table
+     * @param operation
+     * @param call
+     * @return call 결과
+     */
+    public <T> T table(String table, String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = call.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            tableTimer(table, operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 정책 위반 거절 집계
+     * @param reason
+     */
+    public void rejected(String reason) {
+        counters.computeIfAbsent(reason, key -> Counter.builder("point.policy.rejections")
+                .description("정책 위반으로 거절된 충전/사용 요청 수")
+                .tag("reason", key)
+                .register(meterRegistry)).increment();
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        Timer[] byOutcome = operationTimers.computeIfAbsent(operation, key -> new Timer[]{
+                operationTimerBuilder(key, SUCCESS), operationTimerBuilder(key, ERROR)});
+        return SUCCESS.equals(outcome) ? byOutcome[0] : byOutcome[1];
+    }
+
+    private Timer tableTimer(String table, String operation, String outcome) {
+        Timer[] byOutcome = tableTimers.computeIfAbsent(table, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, key -> new Timer[]{
+                        tableTimerBuilder(table, key, SUCCESS), tableTimerBuilder(table, key, ERROR)});
+        return SUCCESS.equals(outcome) ? byOutcome[0] : byOutcome[1];
+    }
+
+    private Timer operationTimerBuilder(String operation, String outcome) {
+        return Timer.builder("point.operation")
+                .description("포인트 서비스 연산 처리 시간")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer tableTimerBuilder(String table, String operation, String outcome) {
+        return Timer.builder("point.table")
+                .description("테이블 호출 처리 시간")
+                .tag("table", table)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.service;
+
+/**
+ * 충전/사용의 동시성 제어 방식
+ */
+public enum ConcurrencyStrategy {
+    /**
+     * 사용자 락을 잡고 잔액 조회부터 저장까지 처리한다.
+     * 같은 사용자의 요청이 몰리면 쌓인 요청을 한 번의 저장으로 합친다.
+     */
+    PESSIMISTIC,
+    /**
+     * 락 없이 잔액과 쓰기 버전을 읽고, 버전이 그대로일 때만 사용자 락 안에서 저장한다.
+     * 버전이 바뀌었으면 jitter 를 두고 다시 시도하고, 횟수를 넘기면 PESSIMISTIC 으로 처리한다.
+     * 락 밖으로 빠지는 것은 잔액 조회뿐이므로, 저장이 빠른 저장소(point.store.type=primitive)에서 경합이 적을 때만 이득이 있다.
+     */
+    OPTIMISTIC
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.admission.PointAdmission;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.idempotency.IdempotentRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * PointService 비동기 API
+ * - 요청 스레드는 작업을 넘기고 바로 반환되며, 테이블 작업은 전용 실행기에서 처리한다.
+ * - 동시에 진행되는 테이블 작업 수는 HTTP 동시 요청 수와 별개로 max-in-flight 로 제한한다.
+ *   한도에 닿으면 실행기에 쌓지 않고 제출 시점에 RejectedExecutionException(503)으로 거절한다.
+ * - timeout 이 지나면 TimeoutException 으로 완료된다. 이미 시작된 충전/사용은 취소되지 않는다.
+ * - 조회는 timeout 을 처리 기한으로 넘겨, 기한이 지난 hedged 조회를 더 기다리지 않는다.
+ * - Idempotency-Key 가 있는 충전/사용은 같은 키로 한 번만 실행된다.
+ * - 충전/사용은 PointAdmission 한도 안에서만 받고, 요청별 timeout 을 처리 기한으로 넘겨
+ *   응답을 기다리는 요청자가 없는 작업은 테이블에 반영하지 않는다.
+ */
+@Service
+public class PointAsyncService {
+
+    private final PointService pointService;
+    private final IdempotencyCache idempotencyCache;
+    private final PointAdmission pointAdmission;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final long timeoutMillis;
+
+    public PointAsyncService(PointService pointService,
+                             IdempotencyCache idempotencyCache,
+                             PointAdmission pointAdmission,
+                             PointThreadFactory pointThreadFactory,
+                             @Value("${point.async.max-in-flight:200}") int maxInFlight,
+                             @Value("${point.async.timeout:3s}") Duration timeout) {
+        this.pointService = pointService;
+        this.idempotencyCache = idempotencyCache;
+        this.pointAdmission = pointAdmission;
+        this.executor = pointThreadFactory.newExecutor("point-async", maxInFlight);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * User Point 조회
+     * @param id
+     * @return userPoint
+     */
+    public CompletableFuture<UserPoint> getUserPoint(long id) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        return submit(() -> pointService.getUserPoint(id, deadlineNanos));
+    }
+
+    /**
+     * Point history 페이지 조회
+     * @param userId
+     * @param after
+     * @param limit
+     * @return PointHistoryPage
+     */
+    public CompletableFuture<PointHistoryPage> getPointHistory(long userId, long after, int limit) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        return submit(() -> pointService.getPointHistory(userId, after, limit, deadlineNanos));
+    }
+
+    /**
+     * Point 충전
+     * @param id
+     * @param amount
+     * @param idempotencyKey 없으면 null
+     * @param requestTimeoutMillis 요청자가 기다리는 시간, 0 이면 설정된 timeout
+     * @return UserPoint
+     */
+    public CompletableFuture<UserPoint> chargePoint(long id, long amount, String idempotencyKey,
+                                                    long requestTimeoutMillis) {
+        long timeout = timeoutMillis(requestTimeoutMillis);
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        return idempotent(idempotencyKey, new IdempotentRequest(id, TransactionType.CHARGE, amount), timeout,
+                () -> admitted(id, () -> pointService.chargePoint(id, amount, deadlineNanos)));
+    }
+
+    /**
+     * Point 사용
+     * @param id
+     * @param amount
+     * @param idempotencyKey 없으면 null
+     * @param requestTimeoutMillis 요청자가 기다리는 시간, 0 이면 설정된 timeout
+     * @return UserPoint
+     */
+    public CompletableFuture<UserPoint> usePoint(long id, long amount, String idempotencyKey,
+                                                 long requestTimeoutMillis) {
+        long timeout = timeoutMillis(requestTimeoutMillis);
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        return idempotent(idempotencyKey, new IdempotentRequest(id, TransactionType.USE, amount), timeout,
+                () -> admitted(id, () -> pointService.usePoint(id, amount, deadlineNanos)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<UserPoint> idempotent(String idempotencyKey, IdempotentRequest request, long timeout,
+                                                    Supplier<CompletableFuture<UserPoint>> action) {
+        if (idempotencyKey == null) {
+            return action.get().orTimeout(timeout, TimeUnit.MILLISECONDS);
+        }
+        // 캐시된 결과가 timeout 으로 바뀌지 않도록, timeout 은 요청마다 복사본에 건다.
+        return idempotencyCache.execute(idempotencyKey, request, action)
+                .copy()
+                .orTimeout(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    private CompletableFuture<UserPoint> admitted(long userId, Supplier<UserPoint> task) {
+        // 한도를 넘으면 실행기에 쌓지 않고 바로 거절한다.
+        PointAdmission.Permit permit;
+        try {
+            permit = pointAdmission.admit(userId);
+        } catch (PointRequestRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // permit 은 timeout 이 아니라 실제 작업이 끝날 때 반납한다.
+        // 반납을 건 단계의 복사본을 돌려주므로, 호출하는 쪽의 orTimeout 이 반납 단계를 먼저 완료시키지 못한다.
+        return start(task).whenComplete((userPoint, e) -> permit.release()).copy();
+    }
+
+    private long timeoutMillis(long requestTimeoutMillis) {
+        return requestTimeoutMillis > 0 ? Math.min(requestTimeoutMillis, timeoutMillis) : timeoutMillis;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return start(task).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> CompletableFuture<T> start(Supplier<T> task) {
+        // permit 은 제출 전에 얻으므로 실행기 대기열에는 max-in-flight 를 넘는 작업이 쌓이지 않는다.
+        // (가상 스레드 모드에서는 실행기 자체에 상한이 없으므로 이 permit 이 유일한 제한이다)
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("동시 처리 한도를 넘었습니다."));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        // timeout 으로 먼저 응답하더라도 permit 은 실제 작업이 끝날 때 반납한다.
+        // 반납 단계가 먼저 완료되면 반납이 실행되지 않으므로, 호출하는 쪽(orTimeout)에는 복사본을 돌려준다.
+        // 복사본은 반납 이후에 완료되므로, 결과를 받은 호출자는 바로 다음 요청을 보낼 수 있다.
+        return future.whenComplete((result, e) -> inFlight.release()).copy();
+    }
+}
@@ -0,0 +1,229 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.admission.PointAdmission;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointBatchTooLargeException;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardNode;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 일괄 충전/사용
+ * - 요청을 사용자별로 묶어, 사용자 사이에는 병렬로, 한 사용자 안에서는 요청 순서대로 처리한다.
+ * - 한 사용자의 묶음은 PointService 의 명령 큐로 한 번에 들어가므로 잔액 조회/저장도 한 번씩만 일어난다.
+ * - 각 건은 단건 충전/사용과 같은 정책(최대 잔고, 잔고 부족)을 따른다.
+ * - 동시에 처리하는 묶음 수는 모든 요청을 합쳐 parallelism 을 넘지 않는다. (가상 스레드 모드에서도 같다)
+ * - 샤딩을 사용하면 다른 shard 사용자의 건은 담당 shard 별로 묶어 전달하고, 결과를 요청 순서대로 합친다.
+ * - 사용자별 묶음은 단건 충전/사용과 같은 PointAdmission 한도에 묶음 하나(잔액 조회/저장 한 번)로 들어간다.
+ *   한도를 넘은 묶음의 건은 429 로 실패한다.
+ * - 각 건은 요청 timeout 을 처리 기한으로 가지며, 기한까지 반영되지 못한 건은 504 로 실패한다.
+ */
+@Service
+public class PointBatchService {
+
+    private final PointService pointService;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final PointAdmission pointAdmission;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxSize;
+    private final long timeoutMillis;
+
+    public PointBatchService(PointService pointService,
+                             ShardRouter shardRouter,
+                             ShardClient shardClient,
+                             PointAdmission pointAdmission,
+                             PointThreadFactory pointThreadFactory,
+                             @Value("${point.batch.parallelism:32}") int parallelism,
+                             @Value("${point.batch.max-size:10000}") int maxSize,
+                             @Value("${point.async.timeout:3s}") Duration timeout) {
+        this.pointService = pointService;
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+        this.pointAdmission = pointAdmission;
+        this.executor = pointThreadFactory.newExecutor("point-batch", parallelism);
+        // 가상 스레드 실행기는 작업마다 스레드를 만들므로 동시 실행 수는 여기서 제한한다.
+        this.permits = new Semaphore(parallelism);
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * 일괄 충전/사용
+     * @param operations
+     * @return 요청 순서와 같은 순서의 건별 결과
+     */
+    public List<PointOperationResult> execute(List<PointOperation> operations) {
+        return execute(operations, true, 0L);
+    }
+
+    /**
+     * 일괄 충전/사용
+     * @param operations
+     * @param route 다른 shard 사용자의 건을 담당 shard 로 전달할지 여부 (다른 shard 에서 전달받은 요청이면 false)
+     * @param requestTimeoutMillis 요청자가 기다리는 시간, 0 이면 설정된 timeout
+     * @return 요청 순서와 같은 순서의 건별 결과
+     */
+    public List<PointOperationResult> execute(List<PointOperation> operations, boolean route, long requestTimeoutMillis) {
+        if (operations.size() > maxSize) {
+            throw new PointBatchTooLargeException(maxSize);
+        }
+        long timeout = requestTimeoutMillis > 0 ? Math.min(requestTimeoutMillis, timeoutMillis) : timeoutMillis;
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        List<PointCommand> commands = new ArrayList<>(operations.size());
+        Map<Long, List<PointCommand>> commandsByUser = new LinkedHashMap<>();
+        Map<ShardNode, List<Integer>> indexesByShard = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PointOperation operation = operations.get(i);
+            PointCommand command = PointCommand.of(operation.userId(), operation.type(), operation.amount(), deadlineNanos);
+            commands.add(command);
+
+            String invalid = validate(operation);
+            if (invalid != null) {
+                command.fail(new IllegalArgumentException(invalid));
+                continue;
+            }
+            if (route && !shardRouter.isLocal(operation.userId())) {
+                indexesByShard.computeIfAbsent(shardRouter.owner(operation.userId()), owner -> new ArrayList<>()).add(i);
+                continue;
+            }
+            commandsByUser.computeIfAbsent(operation.userId(), id -> new ArrayList<>()).add(command);
+        }
+
+        List<CompletableFuture<Void>> groups = new ArrayList<>(commandsByUser.size());
+        commandsByUser.forEach((userId, userCommands) -> {
+            CompletableFuture<Void> group = admitted(userId, userCommands);
+            if (group != null) {
+                groups.add(group);
+            }
+        });
+        PointOperationResult[] forwarded = new PointOperationResult[operations.size()];
+        indexesByShard.forEach((owner, indexes) -> groups.add(
+                CompletableFuture.runAsync(bounded(() -> forward(owner, operations, indexes, forwarded)), executor)));
+        CompletableFuture.allOf(groups.toArray(CompletableFuture[]::new)).join();
+
+        List<PointOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(forwarded[i] != null ? forwarded[i] : toResult(operations.get(i), commands.get(i)));
+        }
+        return results;
+    }
+
+    private CompletableFuture<Void> admitted(long userId, List<PointCommand> userCommands) {
+        // 한도를 넘으면 대기열에 쌓지 않고 이 사용자의 건만 바로 실패시킨다.
+        PointAdmission.Permit permit;
+        try {
+            permit = pointAdmission.admit(userId);
+        } catch (PointRequestRejectedException e) {
+            userCommands.forEach(command -> command.fail(e));
+            return null;
+        }
+        try {
+            return CompletableFuture.runAsync(bounded(() -> {
+                try {
+                    pointService.submitAll(userId, userCommands);
+                } finally {
+                    permit.release();
+                }
+            }), executor);
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            userCommands.forEach(command -> command.fail(e));
+            return null;
+        }
+    }
+
+    private Runnable bounded(Runnable task) {
+        return () -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private void forward(ShardNode owner, List<PointOperation> operations, List<Integer> indexes,
+                         PointOperationResult[] forwarded) {
+        List<PointOperation> shardOperations = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            shardOperations.add(operations.get(index));
+        }
+        try {
+            List<PointOperationResult> results = shardClient.forwardBatch(owner, shardOperations);
+            for (int i = 0; i < indexes.size(); i++) {
+                forwarded[indexes.get(i)] = results.get(i);
+            }
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // 전달 결과를 알 수 없는 건은 실패로 응답한다. (담당 shard 에서는 처리되었을 수 있다)
+            ErrorResponse error = new ErrorResponse("502", "담당 shard 에 요청을 전달하지 못했습니다.");
+            for (int index : indexes) {
+                forwarded[index] = PointOperationResult.failure(operations.get(index), error);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private PointOperationResult toResult(PointOperation operation, PointCommand command) {
+        try {
+            UserPoint userPoint = command.await();
+            return PointOperationResult.success(operation, userPoint);
+        } catch (CompletionException e) {
+            return PointOperationResult.failure(operation, toError(e.getCause()));
+        } catch (RuntimeException e) {
+            return PointOperationResult.failure(operation, toError(e));
+        }
+    }
+
+    private static ErrorResponse toError(Throwable e) {
+        if (e instanceof PointException pointException) {
+            return new ErrorResponse(String.valueOf(pointException.status()), e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return new ErrorResponse("400", e.getMessage());
+        }
+        return new ErrorResponse("500", e.getMessage());
+    }
+
+    private static String validate(PointOperation operation) {
+        if (operation.userId() <= 0 || operation.amount() <= 0) {
+            return "1 이상의 정수여야 합니다.";
+        }
+        if (operation.type() == null) {
+            return "type 은 CHARGE 또는 USE 여야 합니다.";
+        }
+        return null;
+    }
+}
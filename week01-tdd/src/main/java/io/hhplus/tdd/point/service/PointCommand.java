@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 사용자 mailbox 에 쌓이는 충전/사용 요청
+ * - 요청자마다 자신의 결과(또는 예외)를 result 로 돌려받는다.
+ * - deadlineNanos(System.nanoTime 기준)가 지난 요청은 요청자가 이미 응답을 포기했으므로 처리하지 않는다.
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount,
+        long deadlineNanos,
+        CompletableFuture<UserPoint> result
+) {
+
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    public static PointCommand of(long userId, TransactionType type, long amount) {
+        return of(userId, type, amount, NO_DEADLINE);
+    }
+
+    public static PointCommand of(long userId, TransactionType type, long amount, long deadlineNanos) {
+        return new PointCommand(userId, type, amount, deadlineNanos, new CompletableFuture<>());
+    }
+
+    /**
+     * 처리 기한 경과 여부
+     * @param now System.nanoTime()
+     * @return 기한이 지났으면 true
+     */
+    public boolean isExpired(long now) {
+        return deadlineNanos != NO_DEADLINE && now - deadlineNanos >= 0;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public void complete(UserPoint userPoint) {
+        result.complete(userPoint);
+    }
+
+    public void fail(Throwable e) {
+        result.completeExceptionally(e);
+    }
+
+    /**
+     * 처리 결과 대기
+     * - 처리 중 발생한 예외는 감싸지 않고 그대로 다시 던진다.
+     * @return UserPoint
+     */
+    public UserPoint await() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
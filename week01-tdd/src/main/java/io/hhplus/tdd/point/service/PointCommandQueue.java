@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.lock.UserLockManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 단일 writer 명령 큐
+ * - 요청은 사용자 mailbox 에 도착 순서대로 쌓인다.
+ * - 사용자 락을 먼저 잡은 요청자가 그 시점까지 쌓인 명령을 한 번에 꺼내 처리한다.
+ * - 나머지 요청자는 락을 얻었을 때 이미 처리된 자신의 결과만 가져간다.
+ */
+class PointCommandQueue {
+
+    /**
+     * 한 사용자의 명령 묶음을 처리하는 핸들러
+     * - 사용자 락을 잡은 상태로 호출되며, 모든 명령의 결과를 채워야 한다.
+     */
+    @FunctionalInterface
+    interface BatchHandler {
+        void apply(long userId, List<PointCommand> commands);
+    }
+
+    private final ConcurrentHashMap<Long, ArrayDeque<PointCommand>> mailboxes = new ConcurrentHashMap<>();
+    private final UserLockManager userLockManager;
+    private final BatchHandler batchHandler;
+
+    PointCommandQueue(UserLockManager userLockManager, BatchHandler batchHandler) {
+        this.userLockManager = userLockManager;
+        this.batchHandler = batchHandler;
+    }
+
+    /**
+     * 명령 제출 후 결과 대기
+     * @param command
+     * @return UserPoint
+     */
+    UserPoint submit(PointCommand command) {
+        enqueue(command.userId(), List.of(command));
+        userLockManager.executeWithLock(command.userId(), () -> {
+            if (!command.isDone()) {
+                drain(command.userId());
+            }
+            return null;
+        });
+        return command.await();
+    }
+
+    /**
+     * 한 사용자의 명령 여러 건을 순서대로 제출
+     * - 결과는 각 명령의 result 로 전달되며, 반환 시점에는 모두 처리되어 있다.
+     * @param userId
+     * @param commands
+     */
+    void submitAll(long userId, List<PointCommand> commands) {
+        enqueue(userId, commands);
+        userLockManager.executeWithLock(userId, () -> {
+            if (!commands.stream().allMatch(PointCommand::isDone)) {
+                drain(userId);
+            }
+            return null;
+        });
+    }
+
+    private void enqueue(long userId, List<PointCommand> commands) {
+        // mailbox 변경은 모두 compute 안에서만 일어나므로 ArrayDeque 를 그대로 사용한다.
+        mailboxes.compute(userId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new ArrayDeque<>();
+            }
+            mailbox.addAll(commands);
+            return mailbox;
+        });
+    }
+
+    private void drain(long userId) {
+        // 쌓인 명령을 전부 꺼내면서 mailbox 도 제거해 유휴 사용자가 남지 않도록 한다.
+        List<PointCommand> batch = new ArrayList<>();
+        mailboxes.computeIfPresent(userId, (id, mailbox) -> {
+            batch.addAll(mailbox);
+            return null;
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            batchHandler.apply(userId, batch);
+        } catch (RuntimeException e) {
+            batch.forEach(command -> command.fail(e));
+        }
+
+        for (PointCommand command : batch) {
+            if (!command.isDone()) {
+                command.fail(new IllegalStateException("처리되지 않은 포인트 요청입니다."));
+            }
+        }
+    }
+}
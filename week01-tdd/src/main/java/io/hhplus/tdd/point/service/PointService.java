@@ -1,15 +1,40 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointLookup;
+import io.hhplus.tdd.point.PointSummary;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.PointReadCoalescer;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.exception.InsufficientPointException;
+import io.hhplus.tdd.point.exception.PointDeadlineExceededException;
+import io.hhplus.tdd.point.exception.PointLimitExceededException;
+import io.hhplus.tdd.point.exception.UserPointNotFoundException;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.store.PointStore;
+import io.hhplus.tdd.point.store.TablePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import io.micrometer.core.instrument.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 @Service
 public class PointService {
@@ -17,12 +42,66 @@ public class PointService {
 
     private static final Logger log = LoggerFactory.getLogger(PointService.class);
 
-    private UserPointTable userPointTable;
-    private PointHistoryTable pointHistoryTable;
+    private PointStore pointStore;
+    private UserLockManager userLockManager;
+    private UserPointCache userPointCache;
+    private PointReadCoalescer pointReadCoalescer;
+    private HedgedReader hedgedReader;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointHistoryIndex pointHistoryIndex;
+    private PointAggregates pointAggregates;
+    private PointJournal pointJournal;
+    private PointMetrics pointMetrics;
+    private PointCommandQueue pointCommandQueue;
+    // 조건부 조회용 사용자별 버전 (잔액 변경은 응답 전에 반영한다)
+    private final ConcurrentHashMap<Long, PointVersion> versions = new ConcurrentHashMap<>();
+    // 낙관적 쓰기용 사용자별 쓰기 횟수 (사용자 락 안에서 저장과 캐시 갱신을 마친 뒤 올린다)
+    private final ConcurrentHashMap<Long, Long> writeVersions = new ConcurrentHashMap<>();
 
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
-        this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+    private final ConcurrencyStrategy concurrencyStrategy;
+    private final int maxRetries;
+    private final long retryBackoffNanos;
+    private final Counter optimisticCommits;
+    private final Counter optimisticConflicts;
+    private final Counter optimisticFallbacks;
+    private final Counter journalFailures;
+    private final Counter historyFailures;
+
+    public PointService(PointStore pointStore, UserLockManager userLockManager,
+                        UserPointCache userPointCache, PointReadCoalescer pointReadCoalescer,
+                        HedgedReader hedgedReader, PointHistoryWriter pointHistoryWriter,
+                        PointHistoryIndex pointHistoryIndex, PointAggregates pointAggregates,
+                        PointJournal pointJournal, PointMetrics pointMetrics,
+                        @Value("${point.concurrency.strategy:PESSIMISTIC}") ConcurrencyStrategy concurrencyStrategy,
+                        @Value("${point.concurrency.max-retries:3}") int maxRetries,
+                        @Value("${point.concurrency.retry-backoff:2ms}") Duration retryBackoff) {
+        this.pointStore = pointStore;
+        this.userLockManager = userLockManager;
+        this.userPointCache = userPointCache;
+        this.pointReadCoalescer = pointReadCoalescer;
+        this.hedgedReader = hedgedReader;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointAggregates = pointAggregates;
+        this.pointJournal = pointJournal;
+        this.pointMetrics = pointMetrics;
+        this.pointCommandQueue = new PointCommandQueue(userLockManager, this::applyBatch);
+        this.concurrencyStrategy = concurrencyStrategy;
+        if (concurrencyStrategy == ConcurrencyStrategy.OPTIMISTIC && pointStore instanceof TablePointStore) {
+            // 저장 지연이 사용자 락 안에 그대로 남아, 경합이 없으면 같고 경합이 있으면 재시도만큼 느려진다.
+            log.warn("OPTIMISTIC 은 point.store.type=primitive 에서만 이득이 있습니다. UserPointTable 에서는 PESSIMISTIC 보다 느릴 수 있습니다.");
+        }
+        this.maxRetries = maxRetries;
+        this.retryBackoffNanos = Math.max(1L, retryBackoff.toNanos());
+        this.optimisticCommits = optimisticCounter(pointMetrics, "committed");
+        this.optimisticConflicts = optimisticCounter(pointMetrics, "conflict");
+        this.optimisticFallbacks = optimisticCounter(pointMetrics, "fallback");
+        this.journalFailures = Counter.builder("point.journal.append.failures")
+                .description("저장은 끝났지만 저널에 남기지 못한 충전/사용 묶음 수")
+                .register(pointMetrics.registry());
+        this.historyFailures = Counter.builder("point.history.record.failures")
+                .description("잔액은 저장되었지만 내역/인덱스/집계에 남기지 못한 충전/사용 수")
+                .register(pointMetrics.registry());
     }
 
     /**
@@ -31,23 +110,120 @@ public class PointService {
      * @return userPoint
      */
     public UserPoint getUserPoint(long id) {
-        // 데이터 요청
-        UserPoint userPoint = getPoint(id);
-        return userPoint;
+        return getUserPoint(id, HedgedReader.NO_DEADLINE);
+    }
+
+    /**
+     * User Point 조회 (처리 기한 지정)
+     * - 캐시에 없으면 테이블 조회가 늦어질 때 같은 조회를 한 번 더 보내고 먼저 끝난 결과를 쓴다.
+     * @param id
+     * @param deadlineNanos System.nanoTime 기준 기한
+     * @return userPoint
+     */
+    public UserPoint getUserPoint(long id, long deadlineNanos) {
+        return pointMetrics.operation("get", () -> {
+            UserPoint userPoint = findUserPoint(id, deadlineNanos);
+            rememberBalance(userPoint);
+            return userPoint;
+        });
+    }
+
+    /**
+     * 잔액/내역 버전 조회
+     * - 테이블을 읽지 않으며, 서버 시작 후 조회/변경된 적 없는 값은 UNKNOWN 이다.
+     * @param id
+     * @return PointVersion
+     */
+    public PointVersion getVersion(long id) {
+        return versions.getOrDefault(id, PointVersion.NONE);
+    }
+
+    private UserPoint findUserPoint(long id, long deadlineNanos) {
+        UserPoint cached = userPointCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 같은 사용자의 동시 캐시 미스는 한 번만 테이블을 조회한다.
+        // 캐시 미스는 사용자 락 안에서 채워, 진행 중인 충전/사용보다 오래된 잔액이 캐시에 남지 않도록 한다.
+        return pointReadCoalescer.load(id, () -> userLockManager.executeWithLock(id, () -> {
+            UserPoint userPoint = userPointCache.get(id);
+            if (userPoint == null) {
+                // 데이터 요청
+                userPoint = getPoint(id, deadlineNanos);
+                userPointCache.put(userPoint);
+            }
+            return userPoint;
+        }));
     }
 
     /**
      * Point history 조회
      * @param userId
-     * @return pointHistory
+     * @return pointHistory (내역이 없으면 빈 목록)
      */
     public List<PointHistory> getPointHistory(long userId) {
-        List<PointHistory> pointHistory = pointHistoryTable.selectAllByUserId(userId);
+        // 사용자별 인덱스에서 조회 (저장 대기 중인 내역 포함)
+        return pointMetrics.operation("history", () -> pointHistoryIndex.findAll(userId));
+    }
 
-        if (pointHistory.isEmpty()) { // isEmpty 메서드를 통해 비어 있는지 확인
-            throw new RuntimeException("조회 결과가 없습니다.");
-        }
-        return pointHistory;
+    /**
+     * Point history 페이지 조회
+     * @param userId
+     * @param after 이 id 보다 큰 내역부터 조회
+     * @param limit 최대 건수
+     * @return PointHistoryPage
+     */
+    public PointHistoryPage getPointHistory(long userId, long after, int limit) {
+        return getPointHistory(userId, after, limit, HedgedReader.NO_DEADLINE);
+    }
+
+    /**
+     * Point history 페이지 조회 (처리 기한 지정)
+     * @param userId
+     * @param after 이 id 보다 큰 내역부터 조회
+     * @param limit 최대 건수
+     * @param deadlineNanos System.nanoTime 기준 기한
+     * @return PointHistoryPage
+     */
+    public PointHistoryPage getPointHistory(long userId, long after, int limit, long deadlineNanos) {
+        return pointMetrics.operation("history", () -> {
+            PointHistoryPage page = pointHistoryIndex.findPage(userId, after, limit, deadlineNanos);
+            versions.compute(userId, (id, version) ->
+                    (version == null ? PointVersion.NONE : version).withLastHistoryId(page.lastId()));
+            return page;
+        });
+    }
+
+    /**
+     * Point 집계 조회
+     * - 충전/사용마다 갱신된 누적값을 복사하므로 내역 수와 관계없이 일정한 시간이 걸린다.
+     * @param id
+     * @return PointSummary
+     * @throws UserPointNotFoundException 집계된 충전/사용 내역이 없는 경우
+     */
+    public PointSummary getSummary(long id) {
+        return pointMetrics.operation("summary", () -> {
+            PointSummary summary = pointAggregates.find(id, System.currentTimeMillis());
+            if (summary == null) {
+                throw new UserPointNotFoundException();
+            }
+            return summary;
+        });
+    }
+
+    /**
+     * Point history 를 목록으로 만들지 않고 한 건씩 전달
+     * @param userId
+     * @param after 이 id 보다 큰 내역부터 전달
+     * @param limit 최대 건수
+     * @param action
+     */
+    public void streamPointHistory(long userId, long after, int limit, Consumer<PointHistory> action) {
+        pointMetrics.operation("history_stream", () -> {
+            pointHistoryIndex.forEach(userId, after, limit, action);
+            return null;
+        });
     }
 
     /**
@@ -57,72 +233,305 @@ public class PointService {
      * @return UserPoint
      */
     public UserPoint chargePoint(long id, long amount) {
-        // 포인트 충전
-        UserPoint cruuntUserPoint = getPointSafely(id);
-        if (cruuntUserPoint == null) {
-            userPointTable.insertOrUpdate(id, 0);
-            cruuntUserPoint = getPoint(id);
+        return chargePoint(id, amount, PointCommand.NO_DEADLINE);
+    }
+
+    /**
+     * Point 충전 (처리 기한 지정)
+     * @param id
+     * @param amount
+     * @param deadlineNanos System.nanoTime 기준 기한, 지나면 테이블에 반영하지 않는다.
+     * @return UserPoint
+     */
+    public UserPoint chargePoint(long id, long amount, long deadlineNanos) {
+        return pointMetrics.operation("charge",
+                () -> submit(PointCommand.of(id, TransactionType.CHARGE, amount, deadlineNanos)));
+    }
+
+    /**
+     * Point 사용
+     * @param id
+     * @param amount
+     * @return UserPoint
+     */
+    public UserPoint usePoint(long id, long amount) {
+        return usePoint(id, amount, PointCommand.NO_DEADLINE);
+    }
+
+    /**
+     * Point 사용 (처리 기한 지정)
+     * @param id
+     * @param amount
+     * @param deadlineNanos System.nanoTime 기준 기한, 지나면 테이블에 반영하지 않는다.
+     * @return UserPoint
+     */
+    public UserPoint usePoint(long id, long amount, long deadlineNanos) {
+        return pointMetrics.operation("use",
+                () -> submit(PointCommand.of(id, TransactionType.USE, amount, deadlineNanos)));
+    }
+
+    private UserPoint submit(PointCommand command) {
+        if (concurrencyStrategy == ConcurrencyStrategy.OPTIMISTIC) {
+            return submitOptimistic(command);
         }
+        return pointCommandQueue.submit(command);
+    }
 
-        long chargedPoint;
+    /**
+     * 낙관적 충전/사용
+     * - 쓰기 버전과 잔액을 락 없이 읽고, 사용자 락 안에서 버전이 그대로인지 확인한 뒤 commit 한다.
+     * - 락 밖으로 빠지는 것은 잔액 조회뿐이다. 테이블에 compare-and-set 이 없고 내역/저널은 사용자별 순서를 지켜야 하므로
+     *   저장, 내역, 저널은 PESSIMISTIC 과 같이 사용자 락 안에서 한다. 저장이 느린 테이블에서는 PESSIMISTIC 보다 빠를 수 없다.
+     * - 버전이 바뀌었으면 읽은 잔액이 오래된 것이므로 jitter 를 두고 다시 읽는다.
+     * - max-retries 를 넘기면 사용자 큐(PESSIMISTIC)로 넘겨 반드시 처리되도록 한다.
+     * @param command
+     * @return UserPoint
+     */
+    private UserPoint submitOptimistic(PointCommand command) {
+        long id = command.userId();
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            // 버전은 캐시 갱신 뒤에 오르므로, 버전을 먼저 읽으면 그 뒤에 읽은 잔액은 그 버전의 저장보다 오래된 값일 수 없다.
+            long version = writeVersions.getOrDefault(id, 0L);
+            UserPoint current = userPointCache.get(id);
+            if (current == null && lookup(id) instanceof UserPoint stored) {
+                current = stored;
+            }
 
-        if ((cruuntUserPoint.point() + amount) > MAX_POINT) {
-            throw new RuntimeException("충전 가능한 최대 포인트는 1000 입니다.");
-        }else{
-            chargedPoint = cruuntUserPoint.point() + amount;
+            UserPoint read = current;
+            boolean committed = userLockManager.executeWithLock(id, () -> {
+                if (writeVersions.getOrDefault(id, 0L) != version) {
+                    return false;
+                }
+                List<PointCommand> live = dropExpired(List.of(command));
+                try {
+                    if (!live.isEmpty()) {
+                        commit(id, read, live);
+                    }
+                } catch (RuntimeException e) {
+                    command.fail(e);
+                }
+                return true;
+            });
+            if (committed) {
+                optimisticCommits.increment();
+                return command.await();
+            }
+            optimisticConflicts.increment();
+            backoff(attempt);
         }
+        optimisticFallbacks.increment();
+        return pointCommandQueue.submit(command);
+    }
+
+    private void backoff(int attempt) {
+        // 같은 시점에 충돌한 요청들이 다시 같이 충돌하지 않도록 0 ~ backoff * 2^attempt 사이에서 기다린다.
+        long bound = retryBackoffNanos << Math.min(attempt, 10);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(bound) + 1);
+    }
 
-        UserPoint userPoint = userPointTable.insertOrUpdate(id, chargedPoint);
+    /**
+     * 한 사용자의 충전/사용 요청 여러 건을 순서대로 반영
+     * - 결과는 각 요청의 result 로 전달된다.
+     * @param id
+     * @param commands 처리 순서대로 정렬된 요청
+     */
+    void submitAll(long id, List<PointCommand> commands) {
+        pointCommandQueue.submitAll(id, commands);
+    }
 
-        if (cruuntUserPoint.point() > userPoint.point()) {
-            throw new RuntimeException("포인트 충전에 실패했습니다.");
+    /**
+     * 한 사용자에게 쌓인 충전/사용 요청을 순서대로 반영
+     * - 잔액은 한 번만 조회하고, 최종 잔액도 한 번만 저장한다.
+     * - 정책 위반 요청은 해당 요청자에게만 실패로 돌려주고 잔액에 반영하지 않는다.
+     * - 처리 기한이 지난 요청은 테이블을 조회하기 전에 버린다.
+     * @param id
+     * @param commands 도착 순서대로 정렬된 요청
+     */
+    private void applyBatch(long id, List<PointCommand> commands) {
+        commands = dropExpired(commands);
+        if (commands.isEmpty()) {
+            return;
         }
 
-        pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
-        return userPoint;
+        UserPoint cruuntUserPoint = userPointCache.get(id);
+        if (cruuntUserPoint == null && lookup(id) instanceof UserPoint stored) {
+            cruuntUserPoint = stored;
+        }
+        commit(id, cruuntUserPoint, commands);
     }
 
     /**
-     * Point 사용
+     * 읽어둔 잔액에 요청을 순서대로 적용해 저장하고 각 요청에 결과 전달
+     * - 사용자 락을 잡은 상태로 호출되어야 한다.
      * @param id
-     * @param amount
-     * @return UserPoint
+     * @param cruuntUserPoint 현재 잔액, 없는 사용자면 null
+     * @param commands
      */
-    public UserPoint usePoint(long id, long amount) {
-        // 포인트 사용
-        UserPoint cruuntUserPoint = getPoint(id);
-        long usedPoint;
+    private void commit(long id, UserPoint cruuntUserPoint, List<PointCommand> commands) {
+        long balance = cruuntUserPoint == null ? 0L : cruuntUserPoint.point();
+
+        List<PointCommand> applied = new ArrayList<>(commands.size());
+        long[] balances = new long[commands.size()];
 
-        if (cruuntUserPoint.point() < amount) {
-            throw new RuntimeException("사용가능한 포인트가 없습니다.");
-        }else{
-            usedPoint = cruuntUserPoint.point() - amount;
+        for (PointCommand command : commands) {
+            try {
+                balance = apply(cruuntUserPoint, balance, command);
+                balances[applied.size()] = balance;
+                applied.add(command);
+            } catch (RuntimeException e) {
+                command.fail(e);
+            }
+        }
+        if (applied.isEmpty()) {
+            return;
         }
 
-        UserPoint userPoint = userPointTable.insertOrUpdate(id, usedPoint);
+        // 같은 요청 묶음의 잔액 변경은 한 번의 저장으로 반영
+        UserPoint userPoint;
+        try {
+            long saving = balance;
+            userPoint = pointMetrics.table("user_point", "upsert", () -> pointStore.insertOrUpdate(id, saving));
+        } catch (RuntimeException e) {
+            // 저장 결과를 알 수 없으므로 다음 요청은 테이블에서 다시 읽는다.
+            userPointCache.invalidate(id);
+            versions.remove(id);
+            written(id);
+            throw e;
+        }
+        if (userPoint.point() != balance) {
+            userPointCache.invalidate(id);
+            versions.remove(id);
+            written(id);
+            throw new RuntimeException("포인트 반영에 실패했습니다.");
+        }
+        userPointCache.put(userPoint);
+        written(id);
 
-        if (cruuntUserPoint.point() < userPoint.point()) {
-            throw new RuntimeException("포인트 사용에 실패했습니다.");
+        List<PointHistory> recorded = new ArrayList<>(applied.size());
+        for (PointCommand command : applied) {
+            PointHistory pointHistory = null;
+            try {
+                pointHistory = pointHistoryWriter.record(id, command.amount(), command.type(), System.currentTimeMillis());
+                pointHistoryIndex.append(pointHistory);
+                pointAggregates.record(pointHistory);
+            } catch (RuntimeException e) {
+                // 잔액은 이미 반영되었으므로 실패로 응답하면 재시도가 같은 충전/사용을 한 번 더 반영한다.
+                // 저널 기록 실패와 같이 성공으로 응답하고, 빠진 내역은 계측과 로그로 남긴다.
+                historyFailures.increment();
+                log.error("포인트 내역 기록 실패, 잔액은 반영됨 userId={} amount={} type={} history={}",
+                        id, command.amount(), command.type(), pointHistory, e);
+            }
+            // 채번까지 끝난 내역은 저널에 남겨 재시작 시 복구한다.
+            recorded.add(pointHistory);
         }
 
-        pointHistoryTable.insert(id, amount, TransactionType.USE, System.currentTimeMillis());
-        return userPoint;
+        // 응답 전에 버전을 바꿔, 응답을 받은 클라이언트의 조건부 조회가 이전 버전과 비교되지 않도록 한다.
+        UserPoint saved = userPoint;
+        long lastHistoryId = recorded.stream().filter(Objects::nonNull).mapToLong(PointHistory::id).max()
+                .orElse(PointVersion.UNKNOWN);
+        versions.compute(id, (key, version) ->
+                (version == null ? PointVersion.NONE : version).withBalance(saved).withLastHistoryId(lastHistoryId));
+
+        // 묶음의 내역을 저널에 한 번에 남기고, 디스크 반영이 끝난 뒤에 응답한다.
+        try {
+            pointJournal.append(recorded.stream().filter(Objects::nonNull).toList());
+        } catch (RuntimeException e) {
+            // 잔액과 내역은 이미 반영되었으므로 실패로 응답하면 재시도가 같은 충전/사용을 한 번 더 반영한다.
+            // 성공으로 응답하고, 재시작 시 복구되지 않을 수 있다는 것만 계측과 로그로 남긴다.
+            journalFailures.increment();
+            log.error("포인트 저널 기록 실패, 재시작 시 복구되지 않을 수 있음 userId={} histories={}", id, recorded, e);
+        }
+        for (int i = 0; i < applied.size(); i++) {
+            applied.get(i).complete(new UserPoint(id, balances[i], userPoint.updateMillis()));
+        }
     }
 
-    private UserPoint getPoint(long id) {
-        UserPoint cruuntUserPoint = userPointTable.selectById(id);
+    /**
+     * 잔액 저장 후 캐시를 갱신(또는 무효화)한 다음에 호출
+     * - 쓰기 버전을 캐시보다 먼저 올리면, 올라간 버전과 이전 잔액을 함께 읽은 낙관적 쓰기가 커밋되어 이 저장을 덮어쓴다.
+     * @param id
+     */
+    private void written(long id) {
+        // 이 쓰기를 응답한 뒤 온 조회가 이전에 시작된 조회 결과를 받지 않도록 한다.
+        pointReadCoalescer.written(id);
+        // 저장 이전에 잔액을 읽은 낙관적 쓰기가 커밋되지 않도록 한다.
+        writeVersions.merge(id, 1L, Long::sum);
+    }
 
-        if (cruuntUserPoint.equals(UserPoint.empty(id))) { // empty 메서드를 통해 비어 있는지 확인
-            throw new RuntimeException("조회 결과가 없습니다.");
+    private void rememberBalance(UserPoint userPoint) {
+        PointVersion current = versions.get(userPoint.id());
+        // 같은 값이면 새로 만들지 않고, 더 오래된 조회 결과로 되돌리지 않는다.
+        if (current != null && current.updateMillis() >= userPoint.updateMillis()) {
+            return;
         }
-        return cruuntUserPoint;
+        versions.compute(userPoint.id(), (id, version) -> {
+            if (version == null) {
+                return PointVersion.NONE.withBalance(userPoint);
+            }
+            return version.updateMillis() >= userPoint.updateMillis() ? version : version.withBalance(userPoint);
+        });
     }
 
-    private UserPoint getPointSafely(long id) {
-        try {
-            return getPoint(id);
-        } catch (Exception e) {
-            return null; // 예외가 발생하면 null을 반환
+    private List<PointCommand> dropExpired(List<PointCommand> commands) {
+        long now = System.nanoTime();
+        List<PointCommand> live = null;
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            if (command.isExpired(now)) {
+                // 요청자가 이미 응답을 포기했으므로 잔액과 내역에 반영하지 않는다.
+                if (live == null) {
+                    live = new ArrayList<>(commands.subList(0, i));
+                }
+                pointMetrics.rejected("deadline_exceeded");
+                command.fail(new PointDeadlineExceededException());
+            } else if (live != null) {
+                live.add(command);
+            }
+        }
+        return live == null ? commands : live;
+    }
+
+    private long apply(UserPoint cruuntUserPoint, long balance, PointCommand command) {
+        if (command.type() == TransactionType.CHARGE) {
+            // 포인트 충전
+            if ((balance + command.amount()) > MAX_POINT) {
+                pointMetrics.rejected("max_point");
+                throw new PointLimitExceededException(MAX_POINT);
+            }
+            return balance + command.amount();
+        }
+
+        // 포인트 사용
+        if (cruuntUserPoint == null) {
+            pointMetrics.rejected("user_not_found");
+            throw new UserPointNotFoundException();
+        }
+        if (balance < command.amount()) {
+            pointMetrics.rejected("insufficient_balance");
+            throw new InsufficientPointException();
         }
+        return balance - command.amount();
+    }
+
+    private UserPoint getPoint(long id, long deadlineNanos) {
+        // 조회만 하는 경로이므로 늦어진 테이블 조회를 hedge 한다.
+        PointLookup lookup = pointMetrics.table("user_point", "select",
+                () -> hedgedReader.read("user_point.select", deadlineNanos, () -> pointStore.find(id)));
+        if (lookup instanceof UserPoint userPoint) {
+            return userPoint;
+        }
+        throw new UserPointNotFoundException();
+    }
+
+    private static Counter optimisticCounter(PointMetrics pointMetrics, String result) {
+        return Counter.builder("point.concurrency.optimistic")
+                .description("낙관적 충전/사용 시도 결과별 수")
+                .tag("result", result)
+                .register(pointMetrics.registry());
+    }
+
+    private PointLookup lookup(long id) {
+        // 조회 결과가 없는 것은 예외가 아닌 Absent 로 받고, 조회 자체의 실패만 예외로 전파한다.
+        return pointMetrics.table("user_point", "select", () -> pointStore.find(id));
     }
 }
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자별 잔액/내역 버전
+ * - 조건부 조회(If-None-Match)에서 테이블을 읽지 않고 변경 여부를 판단하는 데 사용한다.
+ * - 잔액 버전은 응답 본문과 같은 (updateMillis, point), 내역 버전은 마지막 내역 id 이다.
+ * - 서버 시작 후 조회/변경된 적 없는 값은 UNKNOWN 이다.
+ */
+public record PointVersion(
+        long updateMillis,
+        long point,
+        long lastHistoryId
+) {
+
+    public static final long UNKNOWN = -1L;
+    public static final PointVersion NONE = new PointVersion(UNKNOWN, UNKNOWN, UNKNOWN);
+
+    public boolean hasBalance() {
+        return updateMillis != UNKNOWN;
+    }
+
+    public boolean hasHistory() {
+        return lastHistoryId != UNKNOWN;
+    }
+
+    PointVersion withBalance(UserPoint userPoint) {
+        return new PointVersion(userPoint.updateMillis(), userPoint.point(), lastHistoryId);
+    }
+
+    PointVersion withLastHistoryId(long lastHistoryId) {
+        return new PointVersion(updateMillis, point, Math.max(this.lastHistoryId, lastHistoryId));
+    }
+}
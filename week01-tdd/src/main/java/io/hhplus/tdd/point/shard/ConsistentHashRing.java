@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 가상 노드를 둔 consistent hash ring
+ * - 노드마다 virtualNodes 개의 위치를 ring 에 두고, 사용자 id 의 해시보다 크거나 같은 첫 위치의 노드가 담당한다.
+ * - 노드가 추가/제거되면 그 노드의 위치 사이에 있던 사용자만 담당이 바뀐다. (전체의 약 1/N)
+ * - 위치는 정렬된 long 배열에 두고 이진 탐색하며, 만든 뒤에는 바뀌지 않으므로 동기화 없이 읽는다.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("노드는 1개 이상, 가상 노드 수는 1 이상이어야 합니다.");
+        }
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        String[] names = new String[size];
+        int position = 0;
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                hashes[position] = hash(node + "#" + i);
+                names[position] = node;
+                position++;
+            }
+        }
+
+        // 위치 순으로 정렬 (같은 위치는 이름 순으로 정해, 노드 나열 순서와 관계없이 같은 ring 이 되도록 한다)
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int compare = Long.compare(hashes[a], hashes[b]);
+            return compare != 0 ? compare : names[a].compareTo(names[b]);
+        });
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = names[order[i]];
+        }
+    }
+
+    /**
+     * 사용자를 담당하는 노드
+     * @param userId
+     * @return 노드 이름
+     */
+    public String owner(long userId) {
+        int index = Arrays.binarySearch(points, mix(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // 마지막 위치보다 크면 ring 을 돌아 첫 위치가 담당한다.
+        return owners[index == points.length ? 0 : index];
+    }
+
+    private static long hash(String key) {
+        // FNV-1a 후 mix 로 비트를 고르게 퍼뜨린다.
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        // MurmurHash3 fmix64 : 연속된 사용자 id 도 ring 전체에 흩어지도록 한다.
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,179 @@
+package io.hhplus.tdd.point.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다른 shard 로 요청 전달
+ * - shard 마다 HTTP/1.1 keep-alive 연결을 HttpClient 의 연결 풀에서 재사용하므로, 요청마다 연결을 새로 맺지 않는다.
+ * - 전달한 요청에는 FORWARDED_HEADER 를 붙여, 받은 인스턴스가 ring 과 관계없이 직접 처리하도록 한다. (전달 반복 방지)
+ * - SECRET_HEADER 로 point.shard.secret 을 함께 보내, 받은 인스턴스가 클라이언트가 붙인 FORWARDED_HEADER 와 구분하도록 한다.
+ * - point.shard.forward (shard, outcome 태그) 로 전달 지연을 계측한다.
+ */
+@Component
+public class ShardClient {
+
+    /**
+     * 다른 shard 에서 전달된 요청 표시 (값은 보낸 shard 이름)
+     */
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded";
+
+    /**
+     * 전달한 인스턴스가 같은 구성원임을 보이는 공유 secret
+     */
+    public static final String SECRET_HEADER = "X-Point-Shard-Secret";
+
+    /**
+     * 전달할 수 없는 헤더 (hop-by-hop 헤더와 HttpClient 가 직접 채우는 헤더)
+     */
+    public static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect");
+
+    private static final TypeReference<List<PointOperationResult>> RESULTS = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+    private final PointMetrics pointMetrics;
+    private final String self;
+    private final String secret;
+    private final ConcurrentHashMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ShardClient(@Value("${point.shard.connect-timeout:1s}") Duration connectTimeout,
+                       @Value("${point.shard.request-timeout:5s}") Duration requestTimeout,
+                       @Value("${point.shard.threads:16}") int threads,
+                       @Value("${point.shard.self:}") String self,
+                       @Value("${point.shard.secret:}") String secret,
+                       PointThreadFactory pointThreadFactory,
+                       ObjectMapper objectMapper,
+                       PointMetrics pointMetrics) {
+        this.executor = pointThreadFactory.newExecutor("point-shard", threads);
+        // h2c 업그레이드 시도 없이 HTTP/1.1 keep-alive 연결을 재사용한다.
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.objectMapper = objectMapper;
+        this.pointMetrics = pointMetrics;
+        this.self = self.isEmpty() ? "unknown" : self;
+        this.secret = secret;
+    }
+
+    /**
+     * 요청을 그대로 전달
+     * - 응답 본문은 스트림으로 돌려주므로, 호출하는 쪽에서 끝까지 읽거나 닫아야 연결이 풀로 돌아간다.
+     * @param owner
+     * @param method
+     * @param pathAndQuery
+     * @param headers 전달할 헤더 (HOP_BY_HOP_HEADERS 와 전달 표시 헤더는 건너뛴다)
+     * @param body
+     * @return HttpResponse
+     * @throws java.net.http.HttpTimeoutException request-timeout 안에 응답 헤더를 받지 못한 경우
+     */
+    public HttpResponse<InputStream> forward(ShardNode owner, String method, String pathAndQuery,
+                                             Map<String, List<String>> headers, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(owner.baseUri().resolve(pathAndQuery))
+                .timeout(requestTimeout)
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))
+                    && !name.equalsIgnoreCase(FORWARDED_HEADER)
+                    && !name.equalsIgnoreCase(SECRET_HEADER)) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        request.header(FORWARDED_HEADER, self);
+        request.header(SECRET_HEADER, secret);
+        return send(owner, request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * 일괄 처리 요청 전달
+     * @param owner
+     * @param operations 모두 owner 가 담당하는 사용자의 건
+     * @return operations 와 같은 순서의 건별 결과
+     */
+    public List<PointOperationResult> forwardBatch(ShardNode owner, List<PointOperation> operations)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(owner.baseUri().resolve("/point/batch"))
+                .timeout(requestTimeout)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header(FORWARDED_HEADER, self)
+                .header(SECRET_HEADER, secret)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(operations)))
+                .build();
+        HttpResponse<byte[]> response = send(owner, request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException(owner.name() + " 의 일괄 처리 응답 상태가 " + response.statusCode() + " 입니다.");
+        }
+        List<PointOperationResult> results = objectMapper.readValue(response.body(), RESULTS);
+        if (results.size() != operations.size()) {
+            throw new IOException(owner.name() + " 의 일괄 처리 결과 건수가 요청과 다릅니다.");
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> HttpResponse<T> send(ShardNode owner, HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        String outcome = PointMetrics.ERROR;
+        try {
+            HttpResponse<T> response = httpClient.send(request, handler);
+            outcome = PointMetrics.SUCCESS;
+            return response;
+        } finally {
+            timer(owner.name(), outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String shard, String outcome) {
+        Timer[] byOutcome = timers.computeIfAbsent(shard, key -> new Timer[]{
+                timerBuilder(key, PointMetrics.SUCCESS), timerBuilder(key, PointMetrics.ERROR)});
+        return PointMetrics.SUCCESS.equals(outcome) ? byOutcome[0] : byOutcome[1];
+    }
+
+    private Timer timerBuilder(String shard, String outcome) {
+        return Timer.builder("point.shard.forward")
+                .description("다른 shard 로 요청을 전달하고 응답 헤더를 받기까지의 시간")
+                .tag("shard", shard)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(pointMetrics.registry());
+    }
+}
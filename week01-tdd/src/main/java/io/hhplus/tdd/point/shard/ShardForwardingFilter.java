@@ -0,0 +1,185 @@
+package io.hhplus.tdd.point.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 다른 shard 가 담당하는 사용자의 /point/{id}/** 요청을 담당 인스턴스로 전달
+ * - 헤더(Idempotency-Key, If-None-Match, X-Request-Timeout 등)와 본문을 그대로 보내고, 응답 상태/헤더/본문을 그대로 돌려준다.
+ * - 응답 본문은 받는 대로 흘려 쓰므로 NDJSON 내역 스트리밍도 전달된다.
+ * - 다른 shard 에서 전달된 요청(FORWARDED_HEADER)은 다시 전달하지 않는다.
+ *   SECRET_HEADER 가 point.shard.secret 과 같을 때만 전달된 요청으로 보고, 아니면 두 헤더를 지운 뒤 처리한다.
+ *   (클라이언트가 헤더를 붙여 담당 확인과 /point/batch 의 shard 분배를 건너뛰지 못하도록)
+ * - 담당 인스턴스에 연결하지 못하면 502, 응답이 request-timeout 안에 오지 않으면 504 를 반환한다.
+ * - /point/batch 는 여러 사용자를 담으므로 PointBatchService 가 담당 shard 별로 나눠 전달한다.
+ */
+@Component
+public class ShardForwardingFilter extends OncePerRequestFilter {
+
+    /**
+     * 응답을 만든 shard 이름
+     */
+    public static final String SHARD_HEADER = "X-Point-Shard";
+
+    private static final Logger log = LoggerFactory.getLogger(ShardForwardingFilter.class);
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d+)(?:/.*)?$");
+
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final ObjectMapper objectMapper;
+
+    public ShardForwardingFilter(ShardRouter shardRouter, ShardClient shardClient, ObjectMapper objectMapper) {
+        this.shardRouter = shardRouter;
+        this.shardClient = shardClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !shardRouter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean forwardedByPeer = request.getHeader(ShardClient.FORWARDED_HEADER) != null
+                && shardRouter.isTrustedForward(request.getHeader(ShardClient.SECRET_HEADER));
+        if (!forwardedByPeer) {
+            request = untrusted(request);
+        }
+        Long userId = userId(request);
+        if (forwardedByPeer || userId == null || shardRouter.isLocal(userId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ShardNode owner = shardRouter.owner(userId);
+
+        String query = request.getQueryString();
+        String pathAndQuery = path(request) + (query == null ? "" : "?" + query);
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = shardClient.forward(owner, request.getMethod(), pathAndQuery, headers(request),
+                    request.getInputStream().readAllBytes());
+        } catch (HttpTimeoutException e) {
+            error(response, HttpStatus.GATEWAY_TIMEOUT, "담당 shard 의 응답 시간이 초과되었습니다.");
+            return;
+        } catch (IOException e) {
+            log.warn("shard 요청 전달 실패 shard={} path={}", owner.name(), pathAndQuery, e);
+            error(response, HttpStatus.BAD_GATEWAY, "담당 shard 에 요청을 전달하지 못했습니다.");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error(response, HttpStatus.BAD_GATEWAY, "담당 shard 에 요청을 전달하지 못했습니다.");
+            return;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().map().forEach((name, values) -> {
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            // Date 는 이 인스턴스의 서블릿 컨테이너가 다시 채운다.
+            if (!ShardClient.HOP_BY_HOP_HEADERS.contains(lowerName) && !lowerName.equals("date")) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        response.setHeader(SHARD_HEADER, owner.name());
+        try (InputStream body = forwarded.body()) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    private static HttpServletRequest untrusted(HttpServletRequest request) {
+        if (request.getHeader(ShardClient.FORWARDED_HEADER) == null && request.getHeader(ShardClient.SECRET_HEADER) == null) {
+            return request;
+        }
+        log.warn("shard 전달 헤더 제거 (secret 불일치) remote={} path={}", request.getRemoteAddr(), path(request));
+        return new UntrustedForwardRequest(request);
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(path(request));
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            // long 범위를 넘는 id 는 컨트롤러의 검증 오류로 응답한다.
+            return null;
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Map<String, List<String>> headers(HttpServletRequest request) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        }
+        return headers;
+    }
+
+    private void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(String.valueOf(status.value()), message));
+    }
+
+    /**
+     * 전달 표시 헤더(FORWARDED_HEADER, SECRET_HEADER)를 지운 요청
+     */
+    private static final class UntrustedForwardRequest extends HttpServletRequestWrapper {
+
+        private UntrustedForwardRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return hidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return hidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(UntrustedForwardRequest::hidden);
+            return Collections.enumeration(names);
+        }
+
+        private static boolean hidden(String name) {
+            return name.equalsIgnoreCase(ShardClient.FORWARDED_HEADER) || name.equalsIgnoreCase(ShardClient.SECRET_HEADER);
+        }
+    }
+}
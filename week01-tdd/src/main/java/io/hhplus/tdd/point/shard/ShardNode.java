@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.shard;
+
+import java.net.URI;
+
+/**
+ * shard 구성원
+ * - name : 해시 ring 의 가상 노드 위치를 정하는 이름 (인스턴스 주소가 바뀌어도 담당 사용자가 바뀌지 않는다)
+ * - baseUri : 요청을 전달할 주소 (예: http://localhost:8081)
+ */
+public record ShardNode(
+        String name,
+        URI baseUri
+) {
+}
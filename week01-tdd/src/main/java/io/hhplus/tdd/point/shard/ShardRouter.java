@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 id 로 담당 shard 결정
+ * - point.shard.nodes 에 "이름=주소" 를 쉼표로 나열하고, point.shard.self 로 이 인스턴스의 이름을 지정한다.
+ * - 모든 인스턴스가 같은 nodes 를 가져야 같은 사용자를 같은 인스턴스가 담당한다.
+ * - point.shard.enabled 가 false 이면 모든 사용자를 이 인스턴스가 처리한다.
+ * - 다른 shard 에서 전달된 요청은 point.shard.secret 이 같은 경우에만 인정한다. (모든 인스턴스가 같은 값을 가져야 한다)
+ */
+@Component
+public class ShardRouter {
+
+    private final boolean enabled;
+    private final ShardNode self;
+    private final Map<String, ShardNode> nodes;
+    private final ConsistentHashRing ring;
+    private final byte[] secret;
+
+    public ShardRouter(@Value("${point.shard.enabled:false}") boolean enabled,
+                       @Value("${point.shard.self:}") String self,
+                       @Value("${point.shard.nodes:}") List<String> nodes,
+                       @Value("${point.shard.virtual-nodes:160}") int virtualNodes,
+                       @Value("${point.shard.secret:}") String secret) {
+        this.enabled = enabled;
+        this.nodes = parse(enabled ? nodes : List.of());
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        if (!enabled) {
+            this.self = null;
+            this.ring = null;
+            return;
+        }
+        if (!this.nodes.containsKey(self)) {
+            throw new IllegalArgumentException("point.shard.self(" + self + ") 가 point.shard.nodes 에 없습니다.");
+        }
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("point.shard.enabled 가 true 이면 point.shard.secret 을 지정해야 합니다.");
+        }
+        this.self = this.nodes.get(self);
+        this.ring = new ConsistentHashRing(new ArrayList<>(this.nodes.keySet()), virtualNodes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 사용자를 담당하는 shard
+     * @param userId
+     * @return ShardNode, 샤딩을 사용하지 않으면 null
+     */
+    public ShardNode owner(long userId) {
+        return enabled ? nodes.get(ring.owner(userId)) : null;
+    }
+
+    /**
+     * 이 인스턴스가 담당하는 사용자인지 여부
+     * @param userId
+     * @return 샤딩을 사용하지 않으면 항상 true
+     */
+    public boolean isLocal(long userId) {
+        return !enabled || owner(userId) == self;
+    }
+
+    /**
+     * 다른 shard 가 전달한 요청인지 여부
+     * - 클라이언트가 보낸 전달 헤더로 담당 확인을 건너뛰지 못하도록, 인스턴스끼리 공유하는 secret 이 같은지 확인한다.
+     * @param presented 요청의 ShardClient.SECRET_HEADER 값
+     * @return 샤딩을 사용하지 않거나 secret 이 다르면 false
+     */
+    public boolean isTrustedForward(String presented) {
+        // 비교 시간으로 secret 을 추측하지 못하도록 고정 시간 비교를 쓴다.
+        return enabled && presented != null
+                && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, ShardNode> parse(List<String> nodes) {
+        Map<String, ShardNode> parsed = new LinkedHashMap<>();
+        for (String node : nodes) {
+            int separator = node.indexOf('=');
+            if (separator <= 0 || separator == node.length() - 1) {
+                throw new IllegalArgumentException("point.shard.nodes 는 이름=주소 형식이어야 합니다. (" + node + ")");
+            }
+            String name = node.substring(0, separator).trim();
+            URI baseUri = URI.create(node.substring(separator + 1).trim());
+            if (parsed.put(name, new ShardNode(name, baseUri)) != null) {
+                throw new IllegalArgumentException("point.shard.nodes 에 같은 이름이 있습니다. (" + name + ")");
+            }
+        }
+        return parsed;
+    }
+}
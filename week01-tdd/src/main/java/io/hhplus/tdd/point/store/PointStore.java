@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.store;
+
+import io.hhplus.tdd.point.PointLookup;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 잔액 저장소
+ * - 서비스는 이 인터페이스로만 잔액을 읽고 쓴다.
+ * - 구현은 point.store.type 으로 선택한다. (table: UserPointTable 위임, primitive: PrimitivePointStore)
+ * - 같은 사용자에 대한 쓰기는 호출하는 쪽에서 사용자 락으로 직렬화한다.
+ */
+public interface PointStore {
+
+    /**
+     * 잔액 조회
+     * @param id
+     * @return 저장된 UserPoint, 없으면 PointLookup.absent()
+     */
+    PointLookup find(long id);
+
+    /**
+     * 잔액 저장
+     * @param id
+     * @param amount 저장할 잔액
+     * @return 저장된 UserPoint
+     */
+    UserPoint insertOrUpdate(long id, long amount);
+}
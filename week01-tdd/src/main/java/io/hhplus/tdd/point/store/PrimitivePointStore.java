@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point.store;
+
+import io.hhplus.tdd.point.PointLookup;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 배열 기반 open addressing 잔액 저장소
+ * - id, 잔액, 수정 시각, 버전을 사용자마다 객체 없이 같은 index 의 long 4개로 보관한다.
+ * - 빈 칸은 CAS 로 선점하고, 값은 칸마다 버전(seqlock)으로 보호해 읽기가 락 없이 진행된다.
+ * - 배열 확장 중에만 쓰기를 멈추고, 확장과 겹친 읽기는 다시 시도한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.store.type", havingValue = "primitive")
+public class PrimitivePointStore implements PointStore {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int INSERTED = 0;
+    private static final int UPDATED = 1;
+    private static final int FULL = 2;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // 쓰기는 read lock 을 공유하고, 확장만 write lock 을 잡는다.
+    private final StampedLock resizeLock = new StampedLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Slots slots;
+
+    public PrimitivePointStore(@Value("${point.store.initial-capacity:1024}") int initialCapacity) {
+        this.slots = new Slots(capacityFor(Math.max(initialCapacity, 1)));
+    }
+
+    @Override
+    public PointLookup find(long id) {
+        long stamp = resizeLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            UserPoint userPoint = slots.read(id);
+            if (resizeLock.validate(stamp)) {
+                return userPoint != null ? userPoint : PointLookup.absent();
+            }
+        }
+
+        // 확장과 겹쳤다면 확장이 끝난 배열에서 다시 읽는다.
+        stamp = resizeLock.readLock();
+        try {
+            UserPoint userPoint = slots.read(id);
+            return userPoint != null ? userPoint : PointLookup.absent();
+        } finally {
+            resizeLock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("사용할 수 없는 id 입니다.");
+        }
+        long updateMillis = System.currentTimeMillis();
+
+        while (true) {
+            Slots current;
+            int result;
+            long stamp = resizeLock.readLock();
+            try {
+                current = slots;
+                result = current.write(id, amount, updateMillis);
+            } finally {
+                resizeLock.unlockRead(stamp);
+            }
+
+            if (result == FULL) {
+                resize(current);
+                continue;
+            }
+            if (result == INSERTED && size.incrementAndGet() > current.threshold) {
+                resize(current);
+            }
+            return new UserPoint(id, amount, updateMillis);
+        }
+    }
+
+    /**
+     * 저장된 사용자 수
+     * @return 건수
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 현재 배열 크기
+     * @return 칸 수
+     */
+    public int capacity() {
+        return slots.keys.length;
+    }
+
+    private void resize(Slots expected) {
+        long stamp = resizeLock.writeLock();
+        try {
+            // 다른 스레드가 이미 확장했다면 다시 확장하지 않는다.
+            if (slots != expected) {
+                return;
+            }
+            int capacity = expected.keys.length;
+            if (capacity >= MAX_CAPACITY) {
+                throw new IllegalStateException("잔액 저장소가 가득 찼습니다.");
+            }
+            Slots grown = new Slots(capacity << 1);
+            expected.copyTo(grown);
+            slots = grown;
+        } finally {
+            resizeLock.unlockWrite(stamp);
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR);
+        int capacity = 16;
+        while (capacity < required && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int indexOf(long id, int mask) {
+        // 연속된 id 가 이웃 칸에 몰려 탐색이 길어지지 않도록 해시를 섞는다.
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static final class Slots {
+        private final long[] keys;
+        private final long[] points;
+        private final long[] updateMillis;
+        // 짝수: 안정, 홀수: 쓰는 중, 0: 아직 값이 없음
+        private final long[] versions;
+        private final int threshold;
+
+        private Slots(int capacity) {
+            this.keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            this.points = new long[capacity];
+            this.updateMillis = new long[capacity];
+            this.versions = new long[capacity];
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        private UserPoint read(long id) {
+            int mask = keys.length - 1;
+            int index = indexOf(id, mask);
+            for (int probe = 0; probe <= mask; probe++) {
+                long key = (long) LONGS.getAcquire(keys, index);
+                if (key == EMPTY) {
+                    return null;
+                }
+                if (key == id) {
+                    return readValue(id, index);
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private UserPoint readValue(long id, int index) {
+            while (true) {
+                long before = (long) LONGS.getAcquire(versions, index);
+                if ((before & 1L) != 0L) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long point = (long) LONGS.getOpaque(points, index);
+                long millis = (long) LONGS.getOpaque(updateMillis, index);
+                VarHandle.loadLoadFence();
+                long after = (long) LONGS.getOpaque(versions, index);
+                if (before == after) {
+                    return before == 0L ? null : new UserPoint(id, point, millis);
+                }
+            }
+        }
+
+        private int write(long id, long point, long millis) {
+            int mask = keys.length - 1;
+            int index = indexOf(id, mask);
+            for (int probe = 0; probe <= mask; probe++) {
+                long key = (long) LONGS.getAcquire(keys, index);
+                if (key == EMPTY) {
+                    if (LONGS.compareAndSet(keys, index, EMPTY, id)) {
+                        writeValue(index, point, millis);
+                        return INSERTED;
+                    }
+                    // 다른 사용자가 먼저 선점했다면 그 값을 다시 확인한다.
+                    key = (long) LONGS.getAcquire(keys, index);
+                }
+                if (key == id) {
+                    writeValue(index, point, millis);
+                    return UPDATED;
+                }
+                index = (index + 1) & mask;
+            }
+            return FULL;
+        }
+
+        private void writeValue(int index, long point, long millis) {
+            long version;
+            while (true) {
+                version = (long) LONGS.getAcquire(versions, index);
+                if ((version & 1L) == 0L && LONGS.compareAndSet(versions, index, version, version + 1)) {
+                    break;
+                }
+                Thread.onSpinWait();
+            }
+            LONGS.setOpaque(points, index, point);
+            LONGS.setOpaque(updateMillis, index, millis);
+            LONGS.setRelease(versions, index, version + 2);
+        }
+
+        private void copyTo(Slots target) {
+            // write lock 안에서만 호출되므로 진행 중인 쓰기가 없다.
+            int mask = target.keys.length - 1;
+            for (int i = 0; i < keys.length; i++) {
+                long key = keys[i];
+                if (key == EMPTY || versions[i] == 0L) {
+                    continue;
+                }
+                int index = indexOf(key, mask);
+                while (target.keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                target.keys[index] = key;
+                target.points[index] = points[i];
+                target.updateMillis[index] = updateMillis[i];
+                target.versions[index] = 2L;
+            }
+        }
+    }
+}
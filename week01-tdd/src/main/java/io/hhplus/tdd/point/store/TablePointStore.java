@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point.store;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointLookup;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UserPointTable 에 그대로 위임하는 기본 저장소
+ * - 테이블은 없는 사용자에 대해서도 잔액 0 인 UserPoint 를 돌려주므로, 이 저장소로 저장한 사용자를 따로 기록해 구분한다.
+ * - 잔액이 0 이 아닌 행은 다른 곳에서 채워졌더라도 있는 사용자로 본다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.store.type", havingValue = "table", matchIfMissing = true)
+public class TablePointStore implements PointStore {
+
+    private final UserPointTable userPointTable;
+    // 한 번이라도 저장한 사용자 (복구 시 저장도 포함)
+    private final Set<Long> knownUsers = ConcurrentHashMap.newKeySet();
+
+    public TablePointStore(UserPointTable userPointTable) {
+        this.userPointTable = userPointTable;
+    }
+
+    @Override
+    public PointLookup find(long id) {
+        UserPoint userPoint = userPointTable.selectById(id);
+        if (userPoint.point() == 0 && !knownUsers.contains(id)) {
+            return PointLookup.absent();
+        }
+        return userPoint;
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = userPointTable.insertOrUpdate(id, amount);
+        // 첫 저장은 충전이므로 잔액이 0 이 아니고, 기록 전에 읽혀도 있는 사용자로 판단된다.
+        knownUsers.add(id);
+        return userPoint;
+    }
+}
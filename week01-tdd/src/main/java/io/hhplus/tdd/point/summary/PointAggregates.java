@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point.summary;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 충전/사용 누적 집계
+ * - 충전/사용 내역이 기록될 때마다 O(1) 로 누적 금액, 건수, 마지막 활동 시각을 갱신한다.
+ * - hourly-buckets / daily-buckets 개의 시간/일 단위 ring 을 함께 갱신하며, 0 이면 해당 ring 을 두지 않는다.
+ * - 조회는 내역을 훑지 않고 집계만 복사한다.
+ * - 서버 시작 후 기록된 내역과 저널에서 복구된 내역만 집계된다.
+ */
+@Component
+public class PointAggregates {
+
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    private final ConcurrentHashMap<Long, UserAggregate> users = new ConcurrentHashMap<>();
+    private final int hourlyBuckets;
+    private final int dailyBuckets;
+
+    public PointAggregates(@Value("${point.summary.hourly-buckets:24}") int hourlyBuckets,
+                           @Value("${point.summary.daily-buckets:30}") int dailyBuckets,
+                           PointMetrics pointMetrics) {
+        if (hourlyBuckets < 0 || dailyBuckets < 0) {
+            throw new IllegalArgumentException("집계 구간 수는 0 이상이어야 합니다.");
+        }
+        this.hourlyBuckets = hourlyBuckets;
+        this.dailyBuckets = dailyBuckets;
+        Gauge.builder("point.summary.users", users, ConcurrentHashMap::size)
+                .description("집계가 있는 사용자 수")
+                .register(pointMetrics.registry());
+    }
+
+    /**
+     * 기록된 내역 집계
+     * @param pointHistory
+     */
+    public void record(PointHistory pointHistory) {
+        restore(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    /**
+     * 저널에서 복구한 내역 집계
+     * @param userId
+     * @param amount
+     * @param type
+     * @param updateMillis
+     */
+    public void restore(long userId, long amount, TransactionType type, long updateMillis) {
+        users.computeIfAbsent(userId, id -> new UserAggregate()).add(amount, type, updateMillis);
+    }
+
+    /**
+     * 사용자 집계 조회
+     * @param userId
+     * @param now 시간/일 단위 구간의 기준 시각
+     * @return PointSummary, 집계된 내역이 없으면 null
+     */
+    public PointSummary find(long userId, long now) {
+        UserAggregate aggregate = users.get(userId);
+        return aggregate == null ? null : aggregate.summary(userId, now);
+    }
+
+    private final class UserAggregate {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final RollupRing hourly = hourlyBuckets > 0 ? new RollupRing(hourlyBuckets, HOUR_MILLIS) : null;
+        private final RollupRing daily = dailyBuckets > 0 ? new RollupRing(dailyBuckets, DAY_MILLIS) : null;
+        private long totalCharged;
+        private long totalUsed;
+        private long count;
+        private long lastActivityMillis;
+
+        private void add(long amount, TransactionType type, long updateMillis) {
+            lock.lock();
+            try {
+                if (type == TransactionType.CHARGE) {
+                    totalCharged += amount;
+                } else {
+                    totalUsed += amount;
+                }
+                count++;
+                lastActivityMillis = Math.max(lastActivityMillis, updateMillis);
+                if (hourly != null) {
+                    hourly.add(updateMillis, type, amount);
+                }
+                if (daily != null) {
+                    daily.add(updateMillis, type, amount);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private PointSummary summary(long userId, long now) {
+            lock.lock();
+            try {
+                List<PointSummary.Bucket> hourlyBuckets = hourly == null ? List.of() : hourly.snapshot(now);
+                List<PointSummary.Bucket> dailyBuckets = daily == null ? List.of() : daily.snapshot(now);
+                return new PointSummary(userId, totalCharged, totalUsed, count, lastActivityMillis,
+                        hourlyBuckets, dailyBuckets);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
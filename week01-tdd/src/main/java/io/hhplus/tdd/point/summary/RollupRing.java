@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.summary;
+
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 고정 크기 시간 구간 집계 ring
+ * - 구간 번호(시각 / width)를 크기로 나눈 나머지 칸에 더하고, 칸의 구간 번호가 다르면 비우고 새로 쓴다.
+ * - 기록과 조회 모두 전체 내역을 훑지 않으며, 조회는 크기만큼만 확인한다.
+ * - 호출하는 쪽에서 사용자 단위로 동기화한다.
+ */
+final class RollupRing {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long widthMillis;
+    private final long[] buckets;
+    private final long[] charged;
+    private final long[] used;
+    private final long[] counts;
+
+    RollupRing(int size, long widthMillis) {
+        this.widthMillis = widthMillis;
+        this.buckets = new long[size];
+        Arrays.fill(buckets, EMPTY);
+        this.charged = new long[size];
+        this.used = new long[size];
+        this.counts = new long[size];
+    }
+
+    void add(long millis, TransactionType type, long amount) {
+        long bucket = Math.floorDiv(millis, widthMillis);
+        int index = (int) Math.floorMod(bucket, (long) buckets.length);
+        if (buckets[index] != bucket) {
+            // 이미 더 최근 구간이 차지한 칸이면 ring 보다 오래된 기록이므로 누적 합계에만 남긴다.
+            if (buckets[index] != EMPTY && buckets[index] > bucket) {
+                return;
+            }
+            buckets[index] = bucket;
+            charged[index] = 0L;
+            used[index] = 0L;
+            counts[index] = 0L;
+        }
+        if (type == TransactionType.CHARGE) {
+            charged[index] += amount;
+        } else {
+            used[index] += amount;
+        }
+        counts[index]++;
+    }
+
+    /**
+     * now 가 속한 구간까지 최근 size 개 구간 중 활동이 있던 구간
+     * @param now
+     * @return 시각 오름차순
+     */
+    List<PointSummary.Bucket> snapshot(long now) {
+        long last = Math.floorDiv(now, widthMillis);
+        List<PointSummary.Bucket> result = new ArrayList<>();
+        for (long bucket = last - buckets.length + 1; bucket <= last; bucket++) {
+            int index = (int) Math.floorMod(bucket, (long) buckets.length);
+            if (buckets[index] == bucket) {
+                result.add(new PointSummary.Bucket(bucket * widthMillis, charged[index], used[index], counts[index]));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.journal.BalanceSnapshot;
+import io.hhplus.tdd.point.journal.BalanceSnapshotStore;
+import io.hhplus.tdd.point.journal.MappedPointJournal;
+import io.hhplus.tdd.point.journal.PointJournalRecovery;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.store.PrimitivePointStore;
+import io.hhplus.tdd.point.store.TablePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class BalanceSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("저널에 기록된 잔액이 스냅샷 파일로 저장되고 그대로 다시 읽히는지 확인")
+    void writeAndLoad() {
+        // 스냅샷이 저널 위치와 잔액을 정확히 담아야 이후 레코드만 재생할 수 있다.
+        MappedPointJournal journal = journal();
+        journal.append(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, 2L, 300L, TransactionType.CHARGE, 2L),
+                new PointHistory(3L, 1L, 40L, TransactionType.USE, 3L)));
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory.resolve("snapshot").toString(), 3);
+
+        store.write(journal.snapshot());
+        BalanceSnapshot loaded = store.loadLatest().orElseThrow();
+
+        assertThat(loaded.records()).isEqualTo(3L);
+        assertThat(loaded.lastHistoryId()).isEqualTo(3L);
+        assertThat(balanceOf(loaded, 1L)).isEqualTo(60L);
+        assertThat(balanceOf(loaded, 2L)).isEqualTo(300L);
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("retention 개수를 넘는 오래된 스냅샷이 삭제되는지 확인")
+    void deleteExpiredSnapshots() throws IOException {
+        // 스냅샷이 쌓여 디스크를 채우지 않아야 한다.
+        MappedPointJournal journal = journal();
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory.resolve("snapshot").toString(), 2);
+
+        for (long id = 1; id <= 4; id++) {
+            journal.append(List.of(new PointHistory(id, 1L, 10L, TransactionType.CHARGE, id)));
+            store.write(journal.snapshot());
+        }
+
+        try (Stream<Path> files = Files.list(directory.resolve("snapshot"))) {
+            assertThat(files.count()).isEqualTo(2);
+        }
+        assertThat(store.loadLatest().orElseThrow().records()).isEqualTo(4L);
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("재시작 시 스냅샷 잔액에 스냅샷 이후 레코드만 더해 복구하는지 확인")
+    void recoverFromSnapshotAndTail() {
+        // 스냅샷에 반영된 레코드를 다시 더하면 잔액이 두 번 늘어난다.
+        MappedPointJournal journal = journal();
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory.resolve("snapshot").toString(), 3);
+        journal.append(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, 2L, 300L, TransactionType.CHARGE, 2L)));
+        store.write(journal.snapshot());
+        journal.append(List.of(new PointHistory(3L, 1L, 40L, TransactionType.USE, 3L)));
+        journal.close();
+
+        MappedPointJournal reopened = journal();
+        PrimitivePointStore pointStore = new PrimitivePointStore(16);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), pointMetrics, 100, 10, Duration.ofMillis(10));
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                new PointThreadFactory(false), pointMetrics);
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics,
+                hedgedReader, 128, Duration.ofDays(3));
+
+        long tail = new PointJournalRecovery(reopened, Optional.of(store), pointStore, pointHistoryIndex,
+                pointHistoryWriter, new PointAggregates(24, 30, pointMetrics), true).recover();
+
+        assertThat(tail).isEqualTo(1L);
+        assertThat(((UserPoint) pointStore.find(1L)).point()).isEqualTo(60L);
+        assertThat(((UserPoint) pointStore.find(2L)).point()).isEqualTo(300L);
+        assertThat(pointHistoryIndex.findAll(1L)).extracting(PointHistory::id).containsExactly(1L, 3L);
+        assertThat(pointHistoryWriter.record(1L, 10L, TransactionType.CHARGE, 4L).id()).isEqualTo(4L);
+        assertThat(reopened.snapshot().records()).isEqualTo(3L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("저널을 사용하면서 잔액 저장소가 UserPointTable 이면 시작하지 않는지 확인")
+    void rejectJournalWithTableStore() {
+        // 테이블은 저장마다 지연이 있어, 사용자마다 한 번씩 복구하면 시작이 사용자 수만큼 늦어진다.
+        MappedPointJournal journal = journal();
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), pointMetrics, 100, 10, Duration.ofMillis(10));
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                new PointThreadFactory(false), pointMetrics);
+        PointHistoryIndex pointHistoryIndex = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics,
+                hedgedReader, 128, Duration.ofDays(3));
+
+        try {
+            assertThatThrownBy(() -> new PointJournalRecovery(journal, Optional.empty(),
+                    new TablePointStore(new UserPointTable()), pointHistoryIndex, pointHistoryWriter,
+                    new PointAggregates(24, 30, pointMetrics), true))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            journal.close();
+        }
+    }
+
+    private MappedPointJournal journal() {
+        return new MappedPointJournal(directory.resolve("journal").toString(), DataSize.ofKilobytes(4), true);
+    }
+
+    private static long balanceOf(BalanceSnapshot snapshot, long userId) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.userIds()[i] == userId) {
+                return snapshot.balances()[i];
+            }
+        }
+        throw new IllegalArgumentException("사용자가 없습니다. " + userId);
+    }
+}
@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.shard.ConsistentHashRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    @DisplayName("연속된 사용자 id 가 노드마다 고르게 나뉘는지 확인")
+    void spreadUsers() {
+        // 한 노드에 사용자가 몰리면 그 인스턴스가 전체 처리량의 한계가 된다.
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.owner(userId), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USERS / 4 * 8 / 10, USERS / 4 * 12 / 10));
+    }
+
+    @Test
+    @DisplayName("노드를 추가할 때, 새 노드로 옮겨가는 사용자만 담당이 바뀌는지 확인")
+    void moveOnlyToAddedNode() {
+        // 인스턴스를 늘릴 때 옮겨야 하는 잔액이 전체의 약 1/N 이어야 한다.
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c", "d"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d", "e"), 160);
+
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String owner = after.owner(userId);
+            if (!owner.equals(before.owner(userId))) {
+                assertThat(owner).isEqualTo("e");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(USERS / 5 * 7 / 10, USERS / 5 * 13 / 10);
+        // 노드 나열 순서가 달라도 같은 ring 이어야 인스턴스마다 담당이 일치한다.
+        assertThat(new ConsistentHashRing(List.of("e", "d", "c", "b", "a"), 160).owner(42L))
+                .isEqualTo(after.owner(42L));
+    }
+}
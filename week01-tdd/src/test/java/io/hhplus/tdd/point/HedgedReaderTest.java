@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointDeadlineExceededException;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class HedgedReaderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgedReader hedgedReader;
+
+    @AfterEach
+    void tearDown() {
+        hedgedReader.shutdown();
+    }
+
+    @Test
+    @DisplayName("첫 호출이 delay 안에 끝나지 않으면 추가 호출의 결과를 받고 첫 호출은 취소되는지 확인")
+    void hedgeSlowCall() {
+        // 운 나쁜 테이블 지연 한 번이 응답 지연으로 그대로 이어지지 않아야 한다.
+        hedgedReader = hedgedReader(1.0);
+        warmUp();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        String result = hedgedReader.read("select", HedgedReader.NO_DEADLINE, () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(calls).hasValue(2);
+        assertThat(await(interrupted)).isTrue();
+        assertThat(meterRegistry.get("point.hedge.hedges").tag("winner", "hedge").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("첫 호출은 호출한 스레드에서 실행되고 추가 호출만 실행기로 가는지 확인")
+    void runPrimaryOnCallerThread() {
+        // 사용자 락을 잡은 스레드가 첫 호출까지 실행기에 넘기면, 조회마다 스레드가 두 개씩 묶인다.
+        hedgedReader = hedgedReader(1.0);
+        warmUp();
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        String result = hedgedReader.read("select", HedgedReader.NO_DEADLINE, () -> {
+            threads.add(Thread.currentThread());
+            if (threads.size() == 1) {
+                try {
+                    new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return "primary";
+                }
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(threads).hasSize(2);
+        assertThat(threads.get(0)).isSameAs(caller);
+        assertThat(threads.get(1)).isNotSameAs(caller);
+        assertThat(caller.isInterrupted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("budget 이 없으면 추가 호출 없이 처리 기한에 실패하는지 확인")
+    void deadlineWithoutBudget() {
+        // 테이블이 전체적으로 느려질 때 추가 호출로 부하를 두 배로 만들지 않아야 한다.
+        hedgedReader = hedgedReader(0.0);
+        warmUp();
+        AtomicInteger calls = new AtomicInteger();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+
+        assertThatThrownBy(() -> hedgedReader.read("select", deadlineNanos, () -> {
+            calls.incrementAndGet();
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "primary";
+        })).isInstanceOf(PointDeadlineExceededException.class);
+
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("point.hedge.skipped").tag("reason", "budget").counter().count()).isEqualTo(1.0);
+    }
+
+    private HedgedReader hedgedReader(double budget) {
+        return new HedgedReader(true, 0.9, Duration.ofMillis(20), budget, 4,
+                new PointThreadFactory(false), new PointMetrics(meterRegistry));
+    }
+
+    private void warmUp() {
+        // delay 는 표본이 쌓인 뒤에 정해지므로 빠른 호출로 먼저 채운다.
+        for (int i = 0; i < 128; i++) {
+            hedgedReader.read("select", HedgedReader.NO_DEADLINE, () -> "warm");
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.idempotency.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.idempotency.IdempotentRequest;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdempotencyCacheTest {
+
+    private static final IdempotentRequest CHARGE_100 = new IdempotentRequest(1L, TransactionType.CHARGE, 100L);
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new IdempotencyCache(10, Duration.ofMinutes(1), new PointMetrics(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("완료된 키로 다시 요청하면 실행하지 않고 저장된 결과를 반환하는지 확인")
+    void returnCompletedResult() {
+        // 응답을 못 받은 클라이언트의 재시도가 두 번 충전되면 안 된다.
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint userPoint = new UserPoint(1L, 100L, 1L);
+
+        cache.execute("key-1", CHARGE_100, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(userPoint);
+        });
+        UserPoint retried = cache.execute("key-1", CHARGE_100, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 200L, 2L));
+        }).join();
+
+        assertThat(retried).isEqualTo(userPoint);
+        assertThat(executions).hasValue(1);
+        assertThat(meterRegistry.get("point.idempotency.requests").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("실행 중인 키로 다시 요청하면 실행하지 않고 진행 중인 결과를 함께 기다리는지 확인")
+    void waitInFlightResult() {
+        // 첫 요청이 끝나기 전에 온 재시도도 다시 실행되면 안 된다.
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<UserPoint> first = cache.execute("key-1", CHARGE_100, () -> {
+            executions.incrementAndGet();
+            return inFlight;
+        });
+        CompletableFuture<UserPoint> duplicate = cache.execute("key-1", CHARGE_100, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        inFlight.complete(new UserPoint(1L, 100L, 1L));
+
+        assertThat(duplicate.join()).isEqualTo(first.join());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("같은 키로 내용이 다른 요청을 보내면 실패하는지 확인")
+    void rejectDifferentRequest() {
+        // 다른 요청에 이전 결과를 돌려주면 클라이언트가 처리 결과를 잘못 알게 된다.
+        cache.execute("key-1", CHARGE_100, () -> CompletableFuture.completedFuture(new UserPoint(1L, 100L, 1L)));
+
+        CompletableFuture<UserPoint> result = cache.execute("key-1",
+                new IdempotentRequest(1L, TransactionType.CHARGE, 200L),
+                () -> CompletableFuture.completedFuture(null));
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(result.exceptionNow()).isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("실패한 요청의 키는 지워져, 재시도가 다시 실행되는지 확인")
+    void retryAfterFailure() {
+        // 실패한 충전은 잔액에 반영되지 않았으므로 재시도를 막으면 안 된다.
+        cache.execute("key-1", CHARGE_100, () -> CompletableFuture.failedFuture(new RuntimeException("실패")));
+
+        UserPoint retried = cache.execute("key-1", CHARGE_100,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 100L, 1L))).join();
+
+        assertThat(retried.point()).isEqualTo(100L);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.journal.MappedPointJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class MappedPointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 내역을 다시 열었을 때 기록 순서대로 재생하는지 확인")
+    void replayAfterReopen() {
+        // 재시작 후 복구가 가능해야 하므로 닫았다 연 저널에서 같은 내역이 나와야 한다.
+        MappedPointJournal journal = open(DataSize.ofKilobytes(4));
+        journal.append(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 1L, 30L, TransactionType.USE, 11L)));
+        journal.close();
+
+        List<PointHistory> replayed = replay(open(DataSize.ofKilobytes(4)));
+
+        assertThat(replayed).containsExactly(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 1L, 30L, TransactionType.USE, 11L));
+    }
+
+    @Test
+    @DisplayName("segment 크기를 넘으면 다음 파일로 넘어가고, 재생 시 모든 파일을 순서대로 읽는지 확인")
+    void rollSegments() throws IOException {
+        // 레코드 3개 크기의 segment 에 10건을 기록하면 파일이 4개로 나뉘어야 한다.
+        MappedPointJournal journal = open(DataSize.ofBytes(120));
+        for (long id = 1; id <= 10; id++) {
+            journal.append(List.of(new PointHistory(id, id, id * 10, TransactionType.CHARGE, id)));
+        }
+        journal.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(4);
+        }
+        List<PointHistory> replayed = replay(open(DataSize.ofBytes(120)));
+        assertThat(replayed).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("쓰다 만 레코드는 재생하지 않고, 그 자리부터 이어서 기록하는지 확인")
+    void skipTornRecord() throws IOException {
+        // 기록 중 장애로 checksum 이 깨진 레코드가 복구되면 잔액이 틀어진다.
+        MappedPointJournal journal = open(DataSize.ofKilobytes(4));
+        journal.append(List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 1L, 30L, TransactionType.USE, 11L)));
+        journal.close();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // 두 번째 레코드의 amount 를 훼손한다.
+            file.seek(40 + 16);
+            file.writeLong(999L);
+        }
+
+        MappedPointJournal reopened = open(DataSize.ofKilobytes(4));
+        reopened.append(List.of(new PointHistory(3L, 1L, 50L, TransactionType.CHARGE, 12L)));
+        List<PointHistory> replayed = replay(reopened);
+
+        assertThat(replayed).extracting(PointHistory::id).containsExactly(1L, 3L);
+    }
+
+    private MappedPointJournal open(DataSize segmentSize) {
+        return new MappedPointJournal(directory.toString(), segmentSize, true);
+    }
+
+    private List<PointHistory> replay(MappedPointJournal journal) {
+        List<PointHistory> result = new ArrayList<>();
+        journal.replay(0L, (id, userId, amount, type, updateMillis) ->
+                result.add(new PointHistory(id, userId, amount, type, updateMillis)));
+        return result;
+    }
+}
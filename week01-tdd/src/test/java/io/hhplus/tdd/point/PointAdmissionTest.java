@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.hhplus.tdd.point.admission.PointAdmission;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class PointAdmissionTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PointAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admission = new PointAdmission(3, 2, Duration.ofSeconds(2), new PointMetrics(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("한 사용자의 처리 중인 요청이 한도를 넘으면 바로 거절되는지 확인")
+    void rejectOverUserLimit() {
+        // 인기 사용자 요청이 직렬 처리 뒤에 계속 쌓이면 모두 timeout 될 때까지 서버가 일만 한다.
+        admission.admit(1L);
+        admission.admit(1L);
+
+        assertThatThrownBy(() -> admission.admit(1L))
+                .isInstanceOf(PointRequestRejectedException.class)
+                .satisfies(e -> assertThat(((PointRequestRejectedException) e).retryAfterSeconds()).isEqualTo(2L));
+
+        // 다른 사용자는 영향을 받지 않고, 거절된 요청은 전체 한도를 차지하지 않는다.
+        admission.admit(2L);
+        assertThat(admission.inFlightCount()).isEqualTo(3);
+        assertThat(meterRegistry.get("point.admission.rejections").tag("reason", "user").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("전체 처리 중인 요청이 한도를 넘으면 바로 거절되는지 확인")
+    void rejectOverGlobalLimit() {
+        // 여러 사용자의 요청이 몰려도 처리 중인 작업 수는 한도를 넘지 않아야 한다.
+        admission.admit(1L);
+        admission.admit(2L);
+        admission.admit(3L);
+
+        assertThatThrownBy(() -> admission.admit(4L)).isInstanceOf(PointRequestRejectedException.class);
+        assertThat(admission.userInFlightCount(4L)).isZero();
+        assertThat(meterRegistry.get("point.admission.rejections").tag("reason", "global").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("반납한 permit 은 한 번만 반영되고 다시 요청을 받을 수 있는지 확인")
+    void releaseOnce() {
+        // 완료 콜백과 실패 처리에서 두 번 반납해도 한도가 늘어나면 안 된다.
+        PointAdmission.Permit first = admission.admit(1L);
+        admission.admit(1L);
+
+        first.release();
+        first.release();
+
+        assertThat(admission.userInFlightCount(1L)).isEqualTo(1);
+        assertThat(admission.inFlightCount()).isEqualTo(1);
+        admission.admit(1L);
+        assertThatThrownBy(() -> admission.admit(1L)).isInstanceOf(PointRequestRejectedException.class);
+    }
+}
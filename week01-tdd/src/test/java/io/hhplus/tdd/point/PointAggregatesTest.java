@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class PointAggregatesTest {
+
+    private static final long USER_ID = 1L;
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    private PointMetrics pointMetrics;
+
+    @BeforeEach
+    void setUp() {
+        pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("시간 단위 집계가 최근 구간만 남기고, 누적값에는 모든 내역이 포함되는지 확인")
+    void rollupKeepsRecentBuckets() {
+        // ring 은 고정 크기이므로 오래된 구간은 덮어써지지만, 누적 합계는 줄어들면 안 된다.
+        PointAggregates aggregates = new PointAggregates(3, 2, pointMetrics);
+        long base = 100 * DAY;
+        aggregates.restore(USER_ID, 100L, TransactionType.CHARGE, base);
+        aggregates.restore(USER_ID, 10L, TransactionType.USE, base + HOUR);
+        aggregates.restore(USER_ID, 20L, TransactionType.USE, base + HOUR + 1);
+        aggregates.restore(USER_ID, 50L, TransactionType.CHARGE, base + 3 * HOUR);
+        // 이미 덮어쓴 구간의 늦은 내역은 ring 에 되살아나지 않는다.
+        aggregates.restore(USER_ID, 5L, TransactionType.CHARGE, base);
+
+        PointSummary summary = aggregates.find(USER_ID, base + 3 * HOUR);
+
+        assertThat(summary.totalCharged()).isEqualTo(155L);
+        assertThat(summary.totalUsed()).isEqualTo(30L);
+        assertThat(summary.transactionCount()).isEqualTo(5L);
+        assertThat(summary.lastActivityMillis()).isEqualTo(base + 3 * HOUR);
+        assertThat(summary.hourly()).containsExactly(
+                new PointSummary.Bucket(base + HOUR, 0L, 30L, 2L),
+                new PointSummary.Bucket(base + 3 * HOUR, 50L, 0L, 1L));
+        assertThat(summary.daily()).containsExactly(new PointSummary.Bucket(base, 155L, 30L, 5L));
+
+        // 활동이 없던 기간이 지나면 ring 의 구간은 응답에서 빠진다.
+        assertThat(aggregates.find(USER_ID, base + 10 * DAY).hourly()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("구간 수가 0 이면 ring 없이 누적값만 집계하는지 확인")
+    void disableRollups() {
+        // 사용자가 많을 때 구간 집계를 끄면 사용자당 메모리가 누적값만큼으로 줄어야 한다.
+        PointAggregates aggregates = new PointAggregates(0, 0, pointMetrics);
+        aggregates.restore(USER_ID, 100L, TransactionType.CHARGE, 1_000L);
+
+        PointSummary summary = aggregates.find(USER_ID, 1_000L);
+
+        assertThat(summary.totalCharged()).isEqualTo(100L);
+        assertThat(summary.hourly()).isEmpty();
+        assertThat(summary.daily()).isEmpty();
+        assertThat(aggregates.find(2L, 1_000L)).isNull();
+    }
+}
@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import io.hhplus.tdd.point.admission.PointAdmission;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.service.PointAsyncService;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class PointAsyncServiceTest {
+
+    @Mock
+    private PointService pointService;
+
+    private PointAsyncService pointAsyncService;
+
+    @BeforeEach
+    void setUp() {
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        pointAsyncService = new PointAsyncService(pointService,
+                new IdempotencyCache(100, Duration.ofMinutes(1), pointMetrics),
+                new PointAdmission(100, 10, Duration.ofSeconds(1), pointMetrics),
+                new PointThreadFactory(false), 1, Duration.ofSeconds(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointAsyncService.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도에 닿으면 실행기에 쌓지 않고 제출 시점에 거절되는지 확인")
+    void rejectAtSubmitWhenFull() throws Exception {
+        // 대기열에 쌓인 요청은 timeout 뒤에도 실행되므로, 한도를 넘는 요청은 바로 503 으로 거절해야 한다.
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointService.getUserPoint(eq(1L), anyLong())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new UserPoint(1L, 100L, 1L);
+        });
+
+        CompletableFuture<UserPoint> running = pointAsyncService.getUserPoint(1L);
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserPoint> rejected = pointAsyncService.getUserPoint(2L);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        // 작업이 끝나면 permit 을 반납해 다음 요청을 다시 받는다.
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS).point()).isEqualTo(100L);
+        when(pointService.getUserPoint(eq(2L), anyLong())).thenReturn(new UserPoint(2L, 50L, 1L));
+        assertThat(pointAsyncService.getUserPoint(2L).get(1, TimeUnit.SECONDS).point()).isEqualTo(50L);
+    }
+
+    @Test
+    @DisplayName("요청 timeout 이 지나도 진행 중인 충전의 입장 permit 이 유지되어 같은 사용자의 다음 요청이 429 로 거절되는지 확인")
+    void keepAdmissionUntilWorkEnds() throws Exception {
+        // timeout 으로 permit 을 먼저 반납하면, 클라이언트가 timeout 되기 시작하는 순간 사용자별/전체 한도가 무너진다.
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointAdmission pointAdmission = new PointAdmission(100, 1, Duration.ofSeconds(1), pointMetrics);
+        PointAsyncService admittedService = new PointAsyncService(pointService,
+                new IdempotencyCache(100, Duration.ofMinutes(1), pointMetrics),
+                pointAdmission, new PointThreadFactory(false), 1, Duration.ofSeconds(3));
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointService.chargePoint(eq(1L), eq(100L), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return new UserPoint(1L, 100L, 1L);
+        });
+
+        try {
+            CompletableFuture<UserPoint> slow = admittedService.chargePoint(1L, 100L, null, 50L);
+            assertThatThrownBy(() -> slow.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+
+            CompletableFuture<UserPoint> next = admittedService.chargePoint(1L, 100L, null, 0L);
+            assertThatThrownBy(() -> next.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(PointRequestRejectedException.class);
+
+            // 작업이 끝나면 입장 permit 과 실행 permit 을 모두 반납해 다음 요청을 받는다.
+            release.countDown();
+            long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (pointAdmission.userInFlightCount(1L) > 0 && System.nanoTime() < until) {
+                Thread.sleep(10);
+            }
+            assertThat(admittedService.chargePoint(1L, 100L, null, 0L).get(1, TimeUnit.SECONDS).point())
+                    .isEqualTo(100L);
+        } finally {
+            release.countDown();
+            admittedService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.admission.PointAdmission;
+import io.hhplus.tdd.point.cache.PointReadCoalescer;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointBatchTooLargeException;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.journal.NoOpPointJournal;
+import io.hhplus.tdd.point.lock.StripedUserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.service.ConcurrencyStrategy;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.hhplus.tdd.point.store.TablePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+class PointBatchServiceTest {
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private PointService pointService;
+    private ShardRouter shardRouter;
+    private ShardClient shardClient;
+    private PointAdmission pointAdmission;
+    private PointThreadFactory pointThreadFactory;
+    private PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp() {
+        pointThreadFactory = new PointThreadFactory(false);
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointThreadFactory,
+                pointMetrics, 100, 10, Duration.ofMillis(10));
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                pointThreadFactory, pointMetrics);
+        pointService = new PointService(new TablePointStore(userPointTable), new StripedUserLockManager(16),
+                new UserPointCache(100, Duration.ofMinutes(1)), new PointReadCoalescer(1024, pointMetrics),
+                hedgedReader, pointHistoryWriter,
+                new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics, hedgedReader,
+                        128, Duration.ofDays(3)),
+                new PointAggregates(24, 30, pointMetrics),
+                new NoOpPointJournal(),
+                pointMetrics, ConcurrencyStrategy.PESSIMISTIC, 3, Duration.ofMillis(2));
+        shardRouter = new ShardRouter(false, "", List.of(), 160, "");
+        shardClient = new ShardClient(Duration.ofSeconds(1), Duration.ofSeconds(1), 1, "", "",
+                pointThreadFactory, new ObjectMapper(), pointMetrics);
+        pointAdmission = new PointAdmission(100, 1, Duration.ofSeconds(1), pointMetrics);
+        pointBatchService = new PointBatchService(pointService, shardRouter, shardClient, pointAdmission,
+                pointThreadFactory, 4, 100, Duration.ofSeconds(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointBatchService.shutdown();
+    }
+
+    @Test
+    @DisplayName("사용자별로 요청 순서대로 반영되고, 결과가 요청과 같은 순서로 반환되는지 확인")
+    void executeInOrderPerUser() {
+        // 여러 사용자의 요청이 섞여 있어도 한 사용자 안의 순서와 건별 결과 위치가 유지되어야 한다.
+        when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 100, 1L));
+        when(userPointTable.selectById(2L)).thenReturn(new UserPoint(2L, 0, 1L));
+        when(userPointTable.insertOrUpdate(1L, 150L)).thenReturn(new UserPoint(1L, 150, 2L));
+        when(userPointTable.insertOrUpdate(2L, 500L)).thenReturn(new UserPoint(2L, 500, 2L));
+
+        List<PointOperationResult> results = pointBatchService.execute(List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100),
+                new PointOperation(2L, TransactionType.CHARGE, 500),
+                new PointOperation(1L, TransactionType.USE, 50)));
+
+        assertThat(results).extracting(PointOperationResult::userId).containsExactly(1L, 2L, 1L);
+        assertThat(results.get(0).userPoint().point()).isEqualTo(200L);
+        assertThat(results.get(1).userPoint().point()).isEqualTo(500L);
+        assertThat(results.get(2).userPoint().point()).isEqualTo(150L);
+        // 사용자마다 잔액 저장은 한 번만 일어나야 한다.
+        verify(userPointTable, times(1)).insertOrUpdate(eq(1L), anyLong());
+    }
+
+    @Test
+    @DisplayName("정책을 위반한 건과 잘못된 건만 실패하고, 나머지는 반영되는지 확인")
+    void failOnlyInvalidOperations() {
+        // 일괄 처리에서도 단건과 같은 최대 잔고/잔고 부족 정책이 건별로 적용되어야 한다.
+        when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 900, 1L));
+        when(userPointTable.insertOrUpdate(1L, 950L)).thenReturn(new UserPoint(1L, 950, 2L));
+
+        List<PointOperationResult> results = pointBatchService.execute(List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 200),
+                new PointOperation(1L, TransactionType.CHARGE, 50),
+                new PointOperation(3L, TransactionType.USE, 0)));
+
+        assertThat(results.get(0).error().message()).isEqualTo("충전 가능한 최대 포인트는 1000 입니다.");
+        assertThat(results.get(1).userPoint().point()).isEqualTo(950L);
+        assertThat(results.get(2).error().code()).isEqualTo("400");
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘는 요청은 처리하지 않고 413 예외가 발생하는지 확인")
+    void rejectTooLargeBatch() {
+        // 한 요청이 서버 자원을 과도하게 점유하지 않도록 건수를 제한하고, 서버 오류가 아닌 요청 오류로 응답해야 한다.
+        List<PointOperation> operations = Collections.nCopies(101, new PointOperation(1L, TransactionType.CHARGE, 1));
+
+        assertThatThrownBy(() -> pointBatchService.execute(operations))
+                .isInstanceOf(PointBatchTooLargeException.class)
+                .extracting(e -> ((PointBatchTooLargeException) e).status())
+                .isEqualTo(413);
+    }
+
+    @Test
+    @DisplayName("사용자 한도를 넘은 사용자의 건만 429 로 실패하고, 나머지 사용자는 반영되는지 확인")
+    void rejectUserOverAdmissionLimit() {
+        // 일괄 요청이 입장 제어를 우회하면, 한 사용자에게 단건 한도를 넘는 요청을 몰아 넣을 수 있다.
+        when(userPointTable.selectById(2L)).thenReturn(new UserPoint(2L, 0, 1L));
+        when(userPointTable.insertOrUpdate(2L, 100L)).thenReturn(new UserPoint(2L, 100, 2L));
+        PointAdmission.Permit permit = pointAdmission.admit(1L);
+
+        try {
+            List<PointOperationResult> results = pointBatchService.execute(List.of(
+                    new PointOperation(1L, TransactionType.CHARGE, 100),
+                    new PointOperation(2L, TransactionType.CHARGE, 100),
+                    new PointOperation(1L, TransactionType.CHARGE, 100)));
+
+            assertThat(results.get(0).error().code()).isEqualTo("429");
+            assertThat(results.get(1).userPoint().point()).isEqualTo(100L);
+            assertThat(results.get(2).error().code()).isEqualTo("429");
+            verify(userPointTable, never()).selectById(1L);
+        } finally {
+            permit.release();
+        }
+        // 묶음이 끝나면 반납되어 다음 요청이 다시 들어올 수 있어야 한다.
+        assertThat(pointAdmission.userInFlightCount(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("요청 timeout 까지 반영되지 못한 건은 테이블에 반영하지 않고 504 로 실패하는지 확인")
+    void failOperationsPastRequestTimeout() {
+        // 일괄 요청에 기한이 없으면, 응답을 기다리지 않는 요청의 건이 뒤늦게 테이블에 반영된다.
+        when(userPointTable.selectById(1L)).thenAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            return new UserPoint(1L, 0, 1L);
+        });
+        when(userPointTable.insertOrUpdate(1L, 100L)).thenReturn(new UserPoint(1L, 100, 2L));
+        PointBatchService serialBatchService = new PointBatchService(pointService, shardRouter, shardClient,
+                pointAdmission, pointThreadFactory, 1, 100, Duration.ofSeconds(3));
+
+        try {
+            List<PointOperationResult> results = serialBatchService.execute(List.of(
+                    new PointOperation(1L, TransactionType.CHARGE, 100),
+                    new PointOperation(2L, TransactionType.CHARGE, 100)), true, 100L);
+
+            assertThat(results.get(0).error()).isNull();
+            assertThat(results.get(1).error().code()).isEqualTo("504");
+            verify(userPointTable, never()).insertOrUpdate(eq(2L), anyLong());
+        } finally {
+            serialBatchService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("가상 스레드 모드에서도 동시에 처리하는 사용자 수가 parallelism 을 넘지 않는지 확인")
+    void boundParallelismWithVirtualThreads() {
+        // 가상 스레드 실행기는 작업마다 스레드를 만들므로, parallelism 제한이 없으면 테이블에 요청이 한꺼번에 몰린다.
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(20);
+            inFlight.decrementAndGet();
+            return UserPoint.empty(invocation.getArgument(0));
+        });
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 2L));
+        PointBatchService virtualBatchService = new PointBatchService(pointService, shardRouter, shardClient,
+                pointAdmission, new PointThreadFactory(true), 2, 100, Duration.ofSeconds(3));
+
+        try {
+            List<PointOperationResult> results = virtualBatchService.execute(List.of(
+                    new PointOperation(1L, TransactionType.CHARGE, 1),
+                    new PointOperation(2L, TransactionType.CHARGE, 1),
+                    new PointOperation(3L, TransactionType.CHARGE, 1),
+                    new PointOperation(4L, TransactionType.CHARGE, 1),
+                    new PointOperation(5L, TransactionType.CHARGE, 1),
+                    new PointOperation(6L, TransactionType.CHARGE, 1)));
+
+            assertThat(results).extracting(PointOperationResult::error).containsOnlyNulls();
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        } finally {
+            virtualBatchService.shutdown();
+        }
+    }
+}
@@ -1,4 +1,289 @@
 package io.hhplus.tdd.point;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.hhplus.tdd.point.controller.PointController;
+import io.hhplus.tdd.point.exception.PointRequestRejectedException;
+import io.hhplus.tdd.point.exception.UserPointNotFoundException;
+import io.hhplus.tdd.point.idempotency.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.service.PointAsyncService;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.PointVersion;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+@WebMvcTest(PointController.class)
 public class PointControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PointService pointService;
+
+    @MockBean
+    private PointAsyncService pointAsyncService;
+
+    @MockBean
+    private PointBatchService pointBatchService;
+
+    // 샤딩 필터도 함께 등록되므로, 꺼진 상태(isEnabled=false)의 mock 으로 모든 요청을 이 인스턴스에서 처리한다.
+    @MockBean
+    private ShardRouter shardRouter;
+
+    @MockBean
+    private ShardClient shardClient;
+
+    @Nested
+    @DisplayName("history 메서드")
+    class History {
+
+        @Test
+        @DisplayName("다음 페이지가 있을 때, X-Next-Cursor 헤더가 포함되는지 확인")
+        void historyWithNextCursor() throws Exception {
+            // 클라이언트가 헤더의 cursor 로 다음 페이지를 이어서 요청할 수 있어야 한다.
+            long validId = 1L;
+            PointHistory pointHistory = new PointHistory(5, validId, 100, TransactionType.CHARGE, 1L);
+            when(pointAsyncService.getPointHistory(validId, 4L, 1))
+                    .thenReturn(CompletableFuture.completedFuture(new PointHistoryPage(List.of(pointHistory), 5L, 9L)));
+
+            MvcResult result = mockMvc.perform(get("/point/{id}/histories", validId).param("after", "4").param("limit", "1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Next-Cursor", "5"))
+                    .andExpect(header().string("ETag", "\"9\""))
+                    .andExpect(jsonPath("$[0].id").value(5));
+        }
+
+        @Test
+        @DisplayName("내역이 없을 때, 오류 없이 빈 배열을 반환하는지 확인")
+        void historyEmpty() throws Exception {
+            // 내역이 없는 사용자는 오류가 아니라 빈 페이지를 받아야 한다.
+            long validId = 1L;
+            when(pointAsyncService.getPointHistory(validId, 0L, 100))
+                    .thenReturn(CompletableFuture.completedFuture(PointHistoryPage.empty()));
+
+            MvcResult result = mockMvc.perform(get("/point/{id}/histories", validId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Next-Cursor"))
+                    .andExpect(jsonPath("$").isEmpty());
+        }
+
+        @Test
+        @DisplayName("NDJSON 을 요청할 때, 한 줄에 한 건씩 내려주는지 확인")
+        void streamHistory() throws Exception {
+            // 대량 내역은 목록을 만들지 않고 한 건씩 응답에 써야 한다.
+            long validId = 1L;
+            doAnswer(invocation -> {
+                Consumer<PointHistory> action = invocation.getArgument(3);
+                action.accept(new PointHistory(1, validId, 100, TransactionType.CHARGE, 1L));
+                action.accept(new PointHistory(2, validId, 50, TransactionType.USE, 2L));
+                return null;
+            }).when(pointService).streamPointHistory(eq(validId), anyLong(), anyInt(), any());
+
+            MvcResult result = mockMvc.perform(get("/point/{id}/histories", validId).accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            result.getAsyncResult();
+
+            String[] lines = result.getResponse().getContentAsString().split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[1]).contains("\"type\":\"USE\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("point 메서드")
+    class GetPoint {
+
+        @Test
+        @DisplayName("조회 결과에 updateMillis 와 잔액으로 만든 ETag 가 포함되는지 확인")
+        void pointETag() throws Exception {
+            // 클라이언트가 다음 조회에서 If-None-Match 로 보낼 값을 받아야 한다.
+            long validId = 1L;
+            when(pointAsyncService.getUserPoint(validId))
+                    .thenReturn(CompletableFuture.completedFuture(new UserPoint(validId, 300L, 1234L)));
+
+            MvcResult result = mockMvc.perform(get("/point/{id}", validId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"1234-300\""))
+                    .andExpect(jsonPath("$.point").value(300));
+        }
+
+        @Test
+        @DisplayName("If-None-Match 가 현재 버전과 같을 때, 잔액을 조회하지 않고 304 를 반환하는지 확인")
+        void pointNotModified() throws Exception {
+            // 바뀌지 않은 잔액을 폴링하는 클라이언트에게 테이블 조회와 직렬화 비용을 쓰지 않아야 한다.
+            long validId = 1L;
+            when(pointService.getVersion(validId)).thenReturn(new PointVersion(1234L, 300L, PointVersion.UNKNOWN));
+
+            mockMvc.perform(get("/point/{id}", validId).header("If-None-Match", "\"1234-300\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"1234-300\""));
+
+            verify(pointAsyncService, never()).getUserPoint(anyLong());
+        }
+
+        @Test
+        @DisplayName("If-None-Match 가 이전 버전일 때, 잔액을 다시 조회하는지 확인")
+        void pointModified() throws Exception {
+            // 잔액이 바뀌었다면 새 값과 새 ETag 를 받아야 한다.
+            long validId = 1L;
+            when(pointService.getVersion(validId)).thenReturn(new PointVersion(2000L, 100L, PointVersion.UNKNOWN));
+            when(pointAsyncService.getUserPoint(validId))
+                    .thenReturn(CompletableFuture.completedFuture(new UserPoint(validId, 100L, 2000L)));
+
+            MvcResult result = mockMvc.perform(get("/point/{id}", validId).header("If-None-Match", "\"1234-300\""))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"2000-100\""));
+        }
+
+        @Test
+        @DisplayName("비동기 조회가 시간 안에 끝나지 않을 때, 504 와 ErrorResponse 를 반환하는지 확인")
+        void pointTimeout() throws Exception {
+            // 요청 시간 초과는 서버 오류가 아니라 시간 초과로 구분해서 알려줘야 한다.
+            long validId = 1L;
+            when(pointAsyncService.getUserPoint(validId))
+                    .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+            MvcResult result = mockMvc.perform(get("/point/{id}", validId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isGatewayTimeout())
+                    .andExpect(jsonPath("$.code").value("504"));
+        }
+
+        @Test
+        @DisplayName("잔액이 없는 사용자를 조회할 때, 404 와 ErrorResponse 를 반환하는지 확인")
+        void pointNotFound() throws Exception {
+            // 예상된 조회 실패는 서버 오류(500)가 아니라 도메인 오류 코드로 알려줘야 한다.
+            long invalidId = 9999L;
+            when(pointAsyncService.getUserPoint(invalidId))
+                    .thenReturn(CompletableFuture.failedFuture(new UserPointNotFoundException()));
+
+            MvcResult result = mockMvc.perform(get("/point/{id}", invalidId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.code").value("404"))
+                    .andExpect(jsonPath("$.message").value("조회 결과가 없습니다."));
+        }
+    }
+
+    @Nested
+    @DisplayName("summary 메서드")
+    class Summary {
+
+        @Test
+        @DisplayName("집계를 조회할 때, 누적 금액과 시간 단위 집계를 반환하는지 확인")
+        void summary() throws Exception {
+            // 대시보드는 내역을 받지 않고 이 응답만으로 누적값과 최근 추이를 그려야 한다.
+            long validId = 1L;
+            when(pointService.getSummary(validId)).thenReturn(new PointSummary(validId, 300L, 120L, 3L, 7_200_000L,
+                    List.of(new PointSummary.Bucket(3_600_000L, 300L, 120L, 3L)), List.of()));
+
+            mockMvc.perform(get("/point/{id}/summary", validId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalCharged").value(300))
+                    .andExpect(jsonPath("$.totalUsed").value(120))
+                    .andExpect(jsonPath("$.transactionCount").value(3))
+                    .andExpect(jsonPath("$.hourly[0].startMillis").value(3_600_000L))
+                    .andExpect(jsonPath("$.daily").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("charge 메서드")
+    class Charge {
+
+        @Test
+        @DisplayName("같은 Idempotency-Key 로 다른 금액을 충전할 때, 422 와 ErrorResponse 를 반환하는지 확인")
+        void chargeIdempotencyKeyConflict() throws Exception {
+            // 키를 잘못 재사용한 요청은 재시도가 아니므로 처음 결과 대신 오류로 알려줘야 한다.
+            long validId = 1L;
+            when(pointAsyncService.chargePoint(validId, 200L, "key-1", 0L))
+                    .thenReturn(CompletableFuture.failedFuture(new IdempotencyKeyConflictException()));
+
+            MvcResult result = mockMvc.perform(patch("/point/{id}/charge", validId)
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("200"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.code").value("422"));
+        }
+
+        @Test
+        @DisplayName("동시 처리 한도를 넘었을 때, 429 와 Retry-After 헤더를 반환하는지 확인")
+        void chargeRejected() throws Exception {
+            // 한도를 넘은 요청은 기다리게 하지 않고 언제 다시 보낼지 알려줘야 한다.
+            long validId = 1L;
+            when(pointAsyncService.chargePoint(validId, 200L, null, 500L))
+                    .thenReturn(CompletableFuture.failedFuture(new PointRequestRejectedException(1L)));
+
+            MvcResult result = mockMvc.perform(patch("/point/{id}/charge", validId)
+                            .header("X-Request-Timeout", "500")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("200"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value("429"));
+        }
+    }
 }
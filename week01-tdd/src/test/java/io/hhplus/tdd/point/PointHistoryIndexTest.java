@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PointHistoryIndexTest {
+
+    private static final long USER_ID = 1L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PointMetrics pointMetrics;
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryWriter pointHistoryWriter;
+    private HedgedReader hedgedReader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pointMetrics = new PointMetrics(meterRegistry);
+        pointHistoryTable = new PointHistoryTable();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, new PointThreadFactory(false),
+                pointMetrics, 100, 10, Duration.ofMillis(10));
+        hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                new PointThreadFactory(false), pointMetrics);
+    }
+
+    @Test
+    @DisplayName("압축된 내역과 최근 내역에 걸친 페이지 조회가 원래 내역과 같은지 확인")
+    void pageAcrossSealedRows() {
+        // 압축 여부와 관계없이 내역 API 는 같은 순서와 값을 돌려줘야 한다.
+        PointHistoryIndex index = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics,
+                hedgedReader, 4, Duration.ZERO);
+        List<PointHistory> expected = restore(index, 23, System.currentTimeMillis() - 1_000L);
+
+        List<PointHistory> paged = new ArrayList<>();
+        Long cursor = 0L;
+        while (cursor != null) {
+            PointHistoryPage page = index.findPage(USER_ID, cursor, 3);
+            assertThat(page.lastId()).isEqualTo(expected.get(expected.size() - 1).id());
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        }
+
+        assertThat(meterRegistry.get("point.history.sealed.rows").gauge().value()).isEqualTo(16.0);
+        assertThat(paged).isEqualTo(expected);
+        assertThat(index.findAll(USER_ID)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("seal-after 보다 최근 내역은 압축되지 않는지 확인")
+    void keepRecentRowsHot() {
+        // 자주 조회되는 최근 내역은 풀지 않고 바로 읽혀야 한다.
+        PointHistoryIndex index = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics,
+                hedgedReader, 4, Duration.ofDays(1));
+        List<PointHistory> expected = restore(index, 20, System.currentTimeMillis());
+
+        assertThat(meterRegistry.get("point.history.sealed.rows").gauge().value()).isZero();
+        assertThat(index.findAll(USER_ID)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("압축된 이후에도 이미 적재된 id 는 다시 추가되지 않는지 확인")
+    void skipDuplicateAfterSeal() {
+        // 저널 재생처럼 같은 내역이 다시 들어와도, 압축된 구간의 내역이 중복되면 안 된다.
+        PointHistoryIndex index = new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics,
+                hedgedReader, 4, Duration.ZERO);
+        List<PointHistory> expected = restore(index, 12, System.currentTimeMillis() - 1_000L);
+
+        for (PointHistory pointHistory : expected) {
+            index.restore(pointHistory.id(), USER_ID, 1L, TransactionType.USE, pointHistory.updateMillis());
+        }
+
+        assertThat(index.findAll(USER_ID)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("한 사용자를 적재하는 동안에도 다른 사용자 조회와 내역 추가가 기다리지 않고, 추가된 내역이 적재 결과에 합쳐지는지 확인")
+    void appendWhileLoading() throws Exception {
+        // 적재를 map 의 compute 안에서 하면, 같은 bin 의 사용자와 사용자 락을 잡은 충전/사용이 테이블 조회만큼 묶인다.
+        CountDownLatch selecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTable slowTable = new PointHistoryTable() {
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                if (userId == USER_ID) {
+                    selecting.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.selectAllByUserId(userId);
+            }
+        };
+        PointHistoryWriter writer = new PointHistoryWriter(slowTable, new PointThreadFactory(false),
+                pointMetrics, 100, 10, Duration.ofMillis(10));
+        PointHistoryIndex index = new PointHistoryIndex(slowTable, writer, pointMetrics, hedgedReader, 4, Duration.ofDays(1));
+        PointHistory first = writer.record(USER_ID, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        CompletableFuture<List<PointHistory>> loading = CompletableFuture.supplyAsync(() -> index.findAll(USER_ID));
+        assertThat(selecting.await(5, TimeUnit.SECONDS)).isTrue();
+        PointHistory second = writer.record(USER_ID, 50L, TransactionType.USE, System.currentTimeMillis());
+        index.append(second);
+        PointHistory other = writer.record(2L, 10L, TransactionType.CHARGE, System.currentTimeMillis());
+        assertThat(index.findAll(2L)).containsExactly(other);
+        release.countDown();
+
+        assertThat(loading.get(5, TimeUnit.SECONDS)).containsExactly(first, second);
+        assertThat(index.findAll(USER_ID)).containsExactly(first, second);
+    }
+
+    private static List<PointHistory> restore(PointHistoryIndex index, int count, long baseMillis) {
+        List<PointHistory> histories = new ArrayList<>();
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            id += 1 + i * 7L;
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            PointHistory pointHistory = new PointHistory(id, USER_ID, 1_000L * i, type, baseMillis + i);
+            index.restore(pointHistory.id(), USER_ID, pointHistory.amount(), type, pointHistory.updateMillis());
+            histories.add(pointHistory);
+        }
+        return histories;
+    }
+}
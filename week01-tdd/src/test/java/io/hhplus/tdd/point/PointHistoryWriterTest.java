@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PointHistoryWriterTest {
+
+    private static final long USER_ID = 1L;
+
+    @Test
+    @DisplayName("테이블 저장이 일시적으로 실패해도 다시 시도해 내역을 저장하는지 확인")
+    void retryFailedInsert() {
+        // 일시적인 저장 실패로 이미 응답한 내역이 사라지면 안 된다.
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FailingPointHistoryTable pointHistoryTable = new FailingPointHistoryTable(2);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), new PointMetrics(meterRegistry), 100, 10, Duration.ofMillis(10));
+
+        pointHistoryWriter.record(USER_ID, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryWriter.flush();
+
+        assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).hasSize(1);
+        assertThat(pointHistoryWriter.pendingSize()).isZero();
+        assertThat(meterRegistry.get("point.history.insert.failures").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("다시 시도해도 저장하지 못한 내역이 실패 계측에 남는지 확인")
+    void countLostInsert() {
+        // 끝내 저장하지 못한 내역은 조용히 버리지 않고 알 수 있어야 한다.
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FailingPointHistoryTable pointHistoryTable = new FailingPointHistoryTable(Integer.MAX_VALUE);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), new PointMetrics(meterRegistry), 100, 10, Duration.ofMillis(10));
+
+        pointHistoryWriter.record(USER_ID, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryWriter.flush();
+
+        assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).isEmpty();
+        assertThat(pointHistoryWriter.pendingSize()).isZero();
+        assertThat(meterRegistry.get("point.history.insert.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("저널 복구 후 이어서 채번해도 테이블에서 읽은 내역이 같은 id 로 바뀌는지 확인")
+    void translateTableIdsAfterResume() {
+        // 재시작 후 테이블 id 는 1 부터 다시 시작하므로, 그대로 쓰면 복구된 내역과 id 가 겹친다.
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), new PointMetrics(new SimpleMeterRegistry()), 100, 10, Duration.ofMillis(10));
+        pointHistoryWriter.resumeAfter(100L);
+
+        PointHistory first = pointHistoryWriter.record(USER_ID, 100L, TransactionType.CHARGE, 1L);
+        PointHistory second = pointHistoryWriter.record(USER_ID, 30L, TransactionType.USE, 2L);
+        pointHistoryWriter.flush();
+
+        assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).extracting(PointHistory::id).containsExactly(1L, 2L);
+        assertThat(pointHistoryWriter.fromTable(pointHistoryTable.selectAllByUserId(USER_ID)))
+                .containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("저장하지 못한 내역 이후의 테이블 내역도 같은 id 로 바뀌는지 확인")
+    void translateTableIdsAfterLostInsert() {
+        // 잃어버린 내역만큼 테이블 id 가 뒤처지므로, 이후 내역의 id 가 한 칸씩 어긋나면 안 된다.
+        FailingPointHistoryTable pointHistoryTable = new FailingPointHistoryTable(0);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), new PointMetrics(new SimpleMeterRegistry()), 100, 10, Duration.ofMillis(10));
+
+        PointHistory first = pointHistoryWriter.record(USER_ID, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.flush();
+        pointHistoryTable.failNext(Integer.MAX_VALUE);
+        pointHistoryWriter.record(USER_ID, 50L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.flush();
+        pointHistoryTable.failNext(0);
+        PointHistory third = pointHistoryWriter.record(USER_ID, 30L, TransactionType.USE, 3L);
+        pointHistoryWriter.flush();
+
+        assertThat(pointHistoryWriter.fromTable(pointHistoryTable.selectAllByUserId(USER_ID)))
+                .containsExactly(first, third);
+    }
+
+    @Test
+    @DisplayName("저장 대기 내역이 사용자별로 조회되고, 저장 후에는 비워지는지 확인")
+    void pendingPerUser() {
+        // 첫 조회 사용자의 대기 내역을 찾으려고 다른 사용자의 대기 내역까지 훑으면 큐가 찰수록 조회가 느려진다.
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable,
+                new PointThreadFactory(false), new PointMetrics(new SimpleMeterRegistry()), 100, 10, Duration.ofMillis(10));
+
+        PointHistory first = pointHistoryWriter.record(USER_ID, 100L, TransactionType.CHARGE, 1L);
+        PointHistory other = pointHistoryWriter.record(2L, 10L, TransactionType.CHARGE, 2L);
+        PointHistory second = pointHistoryWriter.record(USER_ID, 30L, TransactionType.USE, 3L);
+
+        assertThat(pointHistoryWriter.pendingOf(USER_ID)).containsExactly(first, second);
+        assertThat(pointHistoryWriter.pendingOf(2L)).containsExactly(other);
+        assertThat(pointHistoryWriter.pendingSize()).isEqualTo(3);
+
+        pointHistoryWriter.flush();
+
+        assertThat(pointHistoryWriter.pendingOf(USER_ID)).isEmpty();
+        assertThat(pointHistoryWriter.pendingSize()).isZero();
+    }
+
+    private static class FailingPointHistoryTable extends PointHistoryTable {
+
+        private final AtomicInteger failures;
+
+        FailingPointHistoryTable(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+
+        void failNext(int count) {
+            failures.set(count);
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("저장 실패");
+            }
+            return super.insert(userId, amount, type, updateMillis);
+        }
+    }
+}
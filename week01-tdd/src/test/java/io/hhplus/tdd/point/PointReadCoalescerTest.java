@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.hhplus.tdd.point.cache.PointReadCoalescer;
+import io.hhplus.tdd.point.exception.UserPointNotFoundException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PointReadCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PointReadCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new PointReadCoalescer(16, new PointMetrics(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 동시 조회가 한 번의 조회 결과를 함께 받는지 확인")
+    void coalesceConcurrentLoads() throws Exception {
+        // 인기 사용자를 동시에 조회해도 테이블 조회는 한 번이어야 한다.
+        int followers = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        UserPoint userPoint = new UserPoint(1L, 100L, 1L);
+        ExecutorService executor = Executors.newFixedThreadPool(followers + 1);
+
+        try {
+            Future<UserPoint> leader = executor.submit(() -> coalescer.load(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return userPoint;
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<UserPoint>> results = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                results.add(executor.submit(() -> coalescer.load(1L, () -> {
+                    loads.incrementAndGet();
+                    return new UserPoint(1L, 0L, 2L);
+                })));
+            }
+            while (meterRegistry.get("point.read.coalescing").tag("role", "follower").counter().count() < followers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(userPoint);
+            for (Future<UserPoint> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(userPoint);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(coalescer.inflightSize()).isZero();
+        assertThat(meterRegistry.get("point.read.coalescing.ratio").gauge().value()).isEqualTo(8.0 / 9.0);
+    }
+
+    @Test
+    @DisplayName("쓰기 이후에 온 조회는 그 전에 시작된 조회에 합류하지 않는지 확인")
+    void notJoinLoadStartedBeforeWrite() throws Exception {
+        // 응답된 쓰기 이전에 읽은 잔액을 쓰기 이후의 조회에 돌려주면 안 된다.
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<UserPoint> stale = executor.submit(() -> coalescer.load(1L, () -> {
+                loading.countDown();
+                await(release);
+                return new UserPoint(1L, 100L, 1L);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            coalescer.written(1L);
+            UserPoint fresh = coalescer.load(1L, () -> new UserPoint(1L, 300L, 2L));
+            release.countDown();
+
+            assertThat(fresh.point()).isEqualTo(300L);
+            assertThat(stale.get(5, TimeUnit.SECONDS).point()).isEqualTo(100L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("조회가 실패하면 다음 조회는 다시 테이블을 조회하는지 확인")
+    void retryAfterFailure() {
+        // 실패한 결과가 남아 있으면 이후 조회가 모두 같은 실패를 받는다.
+        assertThatThrownBy(() -> coalescer.load(1L, () -> {
+            throw new UserPointNotFoundException();
+        })).isInstanceOf(UserPointNotFoundException.class);
+
+        assertThat(coalescer.load(1L, () -> new UserPoint(1L, 100L, 1L)).point()).isEqualTo(100L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
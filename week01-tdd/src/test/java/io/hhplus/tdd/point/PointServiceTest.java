@@ -8,17 +8,44 @@ import static org.mockito.Mockito.*;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.PointReadCoalescer;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.exception.PointDeadlineExceededException;
+import io.hhplus.tdd.point.exception.PointLimitExceededException;
+import io.hhplus.tdd.point.exception.UserPointNotFoundException;
+import io.hhplus.tdd.point.hedge.HedgedReader;
+import io.hhplus.tdd.point.history.PointHistoryIndex;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.journal.NoOpPointJournal;
+import io.hhplus.tdd.point.journal.PointJournal;
+import io.hhplus.tdd.point.lock.StripedUserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.service.ConcurrencyStrategy;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.PointVersion;
+import io.hhplus.tdd.point.store.TablePointStore;
+import io.hhplus.tdd.point.summary.PointAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @ExtendWith(MockitoExtension.class)
 class PointServiceTest {
@@ -29,11 +56,53 @@ class PointServiceTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
-    @InjectMocks
     private PointService pointService;
 
+    private PointHistoryWriter pointHistoryWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private static final long MAX_POINT = 1000L;
 
+    @BeforeEach
+    void setUp() {
+        pointService = pointService(ConcurrencyStrategy.PESSIMISTIC);
+    }
+
+    private PointService pointService(ConcurrencyStrategy concurrencyStrategy) {
+        return pointService(concurrencyStrategy, new NoOpPointJournal());
+    }
+
+    private PointService pointService(ConcurrencyStrategy concurrencyStrategy, PointJournal pointJournal) {
+        return pointService(concurrencyStrategy, pointJournal, new UserPointCache(100, Duration.ofMinutes(1)));
+    }
+
+    private PointService pointService(ConcurrencyStrategy concurrencyStrategy, PointJournal pointJournal,
+                                      UserPointCache userPointCache) {
+        return pointService(concurrencyStrategy, pointJournal, userPointCache, new PointAggregates(24, 30,
+                new PointMetrics(new SimpleMeterRegistry())));
+    }
+
+    private PointService pointService(ConcurrencyStrategy concurrencyStrategy, PointJournal pointJournal,
+                                      UserPointCache userPointCache, PointAggregates pointAggregates) {
+        // 내역 writer 는 시작하지 않고, 저장 검증이 필요한 테스트에서 flush 로 직접 저장한다.
+        meterRegistry = new SimpleMeterRegistry();
+        PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, new PointThreadFactory(false),
+                pointMetrics, 100, 10, Duration.ofMillis(10));
+        // 테이블 mock 호출 횟수를 검증하므로 hedge 는 끈다.
+        HedgedReader hedgedReader = new HedgedReader(false, 0.9, Duration.ofMillis(10), 0.1, 4,
+                new PointThreadFactory(false), pointMetrics);
+        return new PointService(new TablePointStore(userPointTable), new StripedUserLockManager(16),
+                userPointCache, new PointReadCoalescer(1024, pointMetrics),
+                hedgedReader, pointHistoryWriter,
+                new PointHistoryIndex(pointHistoryTable, pointHistoryWriter, pointMetrics, hedgedReader,
+                        128, Duration.ofDays(3)),
+                pointAggregates,
+                pointJournal,
+                pointMetrics, concurrencyStrategy, 3, Duration.ofMillis(2));
+    }
+
     @Nested
     @DisplayName("getUserPoint 메서드")
     class GetUserPoint {
@@ -53,6 +122,21 @@ class PointServiceTest {
                         .isInstanceOf(RuntimeException.class);
             }
 
+            @Test
+            @DisplayName("저장된 적 없는 id 는 조회 시각과 관계없이 stack trace 없는 조회 결과 없음 예외가 발생하는지 확인")
+            void getUserPointNotFound() {
+                // 테이블이 돌려준 빈 잔액의 시각이 조회 이전이어도, 저장된 적 없는 사용자는 없는 사용자여야 한다.
+                long invalidId = 9999L;
+                when(userPointTable.selectById(invalidId)).thenReturn(new UserPoint(invalidId, 0, 1L));
+
+                assertThatThrownBy(() -> pointService.getUserPoint(invalidId))
+                        .isInstanceOf(UserPointNotFoundException.class)
+                        .hasMessage("조회 결과가 없습니다.");
+
+                // 예상된 실패이므로 stack trace 를 만들지 않는다.
+                assertThat(new UserPointNotFoundException().getStackTrace()).isEmpty();
+            }
+
             @Test
             @DisplayName("데이터베이스 접근 중 예외가 발생할 때, 이를 적절히 처리하는지 확인")
             void getUserPointFail2() {
@@ -82,6 +166,22 @@ class PointServiceTest {
 
                 assertThat(result).isEqualTo(expectedUserPoint);
             }
+
+            @Test
+            @DisplayName("충전 후 조회할 때, 테이블을 다시 조회하지 않고 충전된 잔액을 반환하는지 확인")
+            void getUserPointAfterCharge() {
+                // 충전 결과가 캐시에 반영되어야 조회가 테이블 지연 없이 최신 잔액을 돌려준다.
+                long validId = 1L;
+
+                when(userPointTable.selectById(validId)).thenReturn(new UserPoint(validId, 200, 1L));
+                when(userPointTable.insertOrUpdate(validId, 300L)).thenReturn(new UserPoint(validId, 300, System.currentTimeMillis()));
+
+                pointService.chargePoint(validId, 100L);
+                UserPoint result = pointService.getUserPoint(validId);
+
+                assertThat(result.point()).isEqualTo(300L);
+                verify(userPointTable, times(1)).selectById(validId);
+            }
         }
     }
 
@@ -94,15 +194,15 @@ class PointServiceTest {
         class FailCase {
 
             @Test
-            @DisplayName("존재하지 않는 id에 대해 요청할 때, null 또는 예외가 발생하는지 확인")
+            @DisplayName("존재하지 않는 id에 대해 요청할 때, 예외 없이 빈 목록을 반환하는지 확인")
             void getPointHistoryFail1() {
+                // 내역이 없는 것은 오류가 아니므로 빈 페이지로 응답해야 한다.
                 long invalidUserId = 9999L;
 
                 when(pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(Collections.emptyList());
 
-                assertThatThrownBy(() -> pointService.getPointHistory(invalidUserId))
-                        .isInstanceOf(RuntimeException.class)
-                        .hasMessage("조회 결과가 없습니다.");
+                assertThat(pointService.getPointHistory(invalidUserId)).isEmpty();
+                assertThat(pointService.getPointHistory(invalidUserId, 0L, 10).items()).isEmpty();
             }
 
             @Test
@@ -134,6 +234,66 @@ class PointServiceTest {
 
                 assertThat(result).isEqualTo(expectedPointHistory);
             }
+
+            @Test
+            @DisplayName("내역이 테이블에 저장되기 전에도, 충전한 사용자의 내역 조회에 포함되는지 확인")
+            void getPendingPointHistory() {
+                // 내역 저장을 비동기로 미뤄도 본인의 충전 내역은 바로 조회되어야 한다. (read-your-writes)
+                long validUserId = 1L;
+
+                when(userPointTable.selectById(validUserId)).thenReturn(new UserPoint(validUserId, 200, 1L));
+                when(userPointTable.insertOrUpdate(validUserId, 300L)).thenReturn(new UserPoint(validUserId, 300, System.currentTimeMillis()));
+
+                pointService.chargePoint(validUserId, 100L);
+                List<PointHistory> result = pointService.getPointHistory(validUserId);
+
+                assertThat(result).hasSize(1);
+                assertThat(result.get(0).type()).isEqualTo(TransactionType.CHARGE);
+                assertThat(result.get(0).amount()).isEqualTo(100L);
+                verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+            }
+
+            @Test
+            @DisplayName("after 이후 내역을 limit 건만 반환하고, 다음 cursor 를 알려주는지 확인")
+            void getPointHistoryPage() {
+                // 내역이 많은 사용자도 한 번에 limit 건만 내려받고 cursor 로 이어서 조회할 수 있어야 한다.
+                long validUserId = 1L;
+                List<PointHistory> stored = List.of(
+                        new PointHistory(1, validUserId, 100, TransactionType.CHARGE, 1L),
+                        new PointHistory(2, validUserId, 50, TransactionType.USE, 2L),
+                        new PointHistory(3, validUserId, 30, TransactionType.CHARGE, 3L));
+
+                when(pointHistoryTable.selectAllByUserId(validUserId)).thenReturn(stored);
+
+                PointHistoryPage first = pointService.getPointHistory(validUserId, 0L, 2);
+                PointHistoryPage second = pointService.getPointHistory(validUserId, first.nextCursor(), 2);
+
+                assertThat(first.items()).containsExactly(stored.get(0), stored.get(1));
+                assertThat(first.nextCursor()).isEqualTo(2L);
+                assertThat(second.items()).containsExactly(stored.get(2));
+                assertThat(second.hasNext()).isFalse();
+            }
+
+            @Test
+            @DisplayName("한 번 조회한 사용자는 이후 충전 내역을 테이블 전체 조회 없이 반환하는지 확인")
+            void getIndexedPointHistory() {
+                // 테이블 전체를 훑는 조회는 사용자별로 한 번만 일어나야 한다.
+                long validUserId = 1L;
+
+                when(pointHistoryTable.selectAllByUserId(validUserId)).thenReturn(Collections.emptyList());
+                when(userPointTable.selectById(validUserId)).thenReturn(new UserPoint(validUserId, 200, 1L));
+                when(userPointTable.insertOrUpdate(validUserId, 300L)).thenReturn(new UserPoint(validUserId, 300, System.currentTimeMillis()));
+                when(userPointTable.insertOrUpdate(validUserId, 350L)).thenReturn(new UserPoint(validUserId, 350, System.currentTimeMillis()));
+
+                pointService.chargePoint(validUserId, 100L);
+                pointService.getPointHistory(validUserId);
+                pointService.chargePoint(validUserId, 50L);
+                List<PointHistory> result = pointService.getPointHistory(validUserId);
+
+                assertThat(result).hasSize(2);
+                assertThat(result.get(1).amount()).isEqualTo(50L);
+                verify(pointHistoryTable, times(1)).selectAllByUserId(validUserId);
+            }
         }
     }
 
@@ -198,9 +358,39 @@ class PointServiceTest {
                 when(userPointTable.selectById(validId)).thenReturn(currentUserPoint);
 
                 assertThatThrownBy(() -> pointService.chargePoint(validId, amount))
-                        .isInstanceOf(RuntimeException.class)
+                        .isInstanceOf(PointLimitExceededException.class)
                         .hasMessageContaining("충전 가능한 최대 포인트는 1000 입니다.");
             }
+
+            @Test
+            @DisplayName("최대잔고 초과로 거절된 충전이 거절 사유와 함께 집계되는지 확인")
+            void chargePointRejectedMetric() {
+                // 정책 위반 거절 수는 운영 중 오류율과 구분해서 봐야 하므로, 사유별로 집계되는지 확인한다.
+                long validId = 1L;
+                when(userPointTable.selectById(validId)).thenReturn(new UserPoint(validId, 900, System.currentTimeMillis()));
+
+                assertThatThrownBy(() -> pointService.chargePoint(validId, 200L))
+                        .isInstanceOf(RuntimeException.class);
+
+                assertThat(meterRegistry.get("point.policy.rejections").tag("reason", "max_point").counter().count())
+                        .isEqualTo(1.0);
+                assertThat(meterRegistry.get("point.operation").tag("operation", "charge").tag("outcome", "error")
+                        .timer().count()).isEqualTo(1L);
+            }
+
+            @Test
+            @DisplayName("처리 기한이 지난 충전은 테이블을 조회하거나 저장하지 않고 실패하는지 확인")
+            void chargePointDeadlineExceeded() {
+                // 요청자가 이미 응답을 포기한 작업이 잔액을 바꾸면, 클라이언트는 실패로 알고 다시 충전하게 된다.
+                long validId = 1L;
+                long expired = System.nanoTime() - 1L;
+
+                assertThatThrownBy(() -> pointService.chargePoint(validId, 100L, expired))
+                        .isInstanceOf(PointDeadlineExceededException.class);
+
+                verify(userPointTable, never()).selectById(anyLong());
+                verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+            }
         }
 
         @Nested
@@ -223,6 +413,26 @@ class PointServiceTest {
 
             }
 
+            @Test
+            @DisplayName("충전 후 잔액/내역 버전이 저장된 값으로 바뀌는지 확인")
+            void chargePointUpdatesVersion() {
+                // 응답을 받은 클라이언트의 조건부 조회가 이전 버전과 비교되어 304 를 받으면 안 된다.
+                long validId = 1L;
+                UserPoint saved = new UserPoint(validId, 300, 5000L);
+                when(userPointTable.selectById(validId)).thenReturn(new UserPoint(validId, 200, 1000L));
+                when(userPointTable.insertOrUpdate(validId, 300L)).thenReturn(saved);
+
+                assertThat(pointService.getUserPoint(validId).updateMillis()).isEqualTo(1000L);
+                assertThat(pointService.getVersion(validId).updateMillis()).isEqualTo(1000L);
+
+                pointService.chargePoint(validId, 100L);
+
+                PointVersion version = pointService.getVersion(validId);
+                assertThat(version.updateMillis()).isEqualTo(5000L);
+                assertThat(version.point()).isEqualTo(300L);
+                assertThat(version.lastHistoryId()).isEqualTo(1L);
+            }
+
             @Test
             @DisplayName("포인트 충전 내역이 PointHistoryTable에 제대로 저장되는지 확인")
             void chargePointSuccess2() {
@@ -243,8 +453,267 @@ class PointServiceTest {
 
                 System.out.println(pointHistoryTable.selectAllByUserId(validId));
                 // pointHistoryTable의 insert 메서드가 호출되었는지 검증
+                pointHistoryWriter.flush();
                 verify(pointHistoryTable).insert(eq(validId), eq(amount), eq(TransactionType.CHARGE), anyLong());
             }
+
+            @Test
+            @DisplayName("저널 기록이 실패해도 반영된 충전은 성공으로 응답하고 실패가 집계되는지 확인")
+            void chargePointJournalFailure() {
+                // 이미 저장된 충전을 실패로 응답하면, 클라이언트의 재시도가 같은 충전을 한 번 더 반영한다.
+                pointService = pointService(ConcurrencyStrategy.PESSIMISTIC, new NoOpPointJournal() {
+                    @Override
+                    public void append(List<PointHistory> pointHistories) {
+                        throw new IllegalStateException("디스크 오류");
+                    }
+                });
+                long validId = 1L;
+                when(userPointTable.selectById(validId)).thenReturn(new UserPoint(validId, 200, 1000L));
+                when(userPointTable.insertOrUpdate(validId, 300L)).thenReturn(new UserPoint(validId, 300, 2000L));
+
+                UserPoint result = pointService.chargePoint(validId, 100L);
+
+                assertThat(result.point()).isEqualTo(300L);
+                assertThat(meterRegistry.get("point.journal.append.failures").counter().count()).isEqualTo(1.0);
+            }
+
+            @Test
+            @DisplayName("내역 집계가 실패해도 반영된 충전은 성공으로 응답하고, 채번된 내역은 저장되며 실패가 집계되는지 확인")
+            void chargePointHistoryFailure() {
+                // 저장된 잔액에 포함된 충전을 실패로 응답하면, 클라이언트의 재시도가 같은 충전을 한 번 더 반영한다.
+                pointService = pointService(ConcurrencyStrategy.PESSIMISTIC, new NoOpPointJournal(),
+                        new UserPointCache(100, Duration.ofMinutes(1)),
+                        new PointAggregates(24, 30, new PointMetrics(new SimpleMeterRegistry())) {
+                            @Override
+                            public void record(PointHistory pointHistory) {
+                                throw new IllegalStateException("집계 실패");
+                            }
+                        });
+                long validId = 1L;
+                when(userPointTable.selectById(validId)).thenReturn(new UserPoint(validId, 200, 1000L));
+                when(userPointTable.insertOrUpdate(validId, 300L)).thenReturn(new UserPoint(validId, 300, 2000L));
+
+                UserPoint result = pointService.chargePoint(validId, 100L);
+                pointHistoryWriter.flush();
+
+                assertThat(result.point()).isEqualTo(300L);
+                verify(pointHistoryTable).insert(eq(validId), eq(100L), eq(TransactionType.CHARGE), anyLong());
+                assertThat(meterRegistry.get("point.history.record.failures").counter().count()).isEqualTo(1.0);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("getSummary 메서드")
+    class GetSummary {
+
+        @Test
+        @DisplayName("충전/사용 후 누적 금액과 건수가 내역 조회 없이 집계되는지 확인")
+        void summaryAfterChargeAndUse() {
+            // 집계는 충전/사용 시점에 갱신되므로, 조회 때 내역 테이블을 읽으면 안 된다.
+            long validId = 1L;
+            when(userPointTable.selectById(validId)).thenReturn(new UserPoint(validId, 0, 1000L));
+            when(userPointTable.insertOrUpdate(eq(validId), anyLong()))
+                    .thenAnswer(invocation -> new UserPoint(validId, invocation.getArgument(1), System.currentTimeMillis()));
+
+            pointService.chargePoint(validId, 200L);
+            pointService.usePoint(validId, 50L);
+            pointService.chargePoint(validId, 30L);
+
+            PointSummary summary = pointService.getSummary(validId);
+            assertThat(summary.totalCharged()).isEqualTo(230L);
+            assertThat(summary.totalUsed()).isEqualTo(50L);
+            assertThat(summary.transactionCount()).isEqualTo(3L);
+            assertThat(summary.lastActivityMillis()).isPositive();
+            assertThat(summary.hourly().stream().mapToLong(PointSummary.Bucket::count).sum()).isEqualTo(3L);
+            verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+        }
+
+        @Test
+        @DisplayName("충전/사용 내역이 없는 사용자를 조회할 때, 예외가 발생하는지 확인")
+        void summaryNotFound() {
+            assertThatThrownBy(() -> pointService.getSummary(9999L))
+                    .isInstanceOf(UserPointNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("동시 충전/사용 요청")
+    class ConcurrentCommands {
+
+        @Test
+        @DisplayName("같은 사용자에게 몰린 요청이 순서대로 반영되고, 저장 횟수가 요청 수보다 적은지 확인")
+        void coalescePendingCommands() throws Exception {
+            // 대기 중인 요청을 한 번의 조회/저장으로 묶어도 잔액이 유실되지 않아야 한다.
+            long validId = 1L;
+            AtomicLong stored = new AtomicLong(0L);
+
+            when(userPointTable.selectById(validId)).thenAnswer(invocation -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                return new UserPoint(validId, stored.get(), 1L);
+            });
+            when(userPointTable.insertOrUpdate(eq(validId), anyLong())).thenAnswer(invocation -> {
+                stored.set(invocation.getArgument(1));
+                return new UserPoint(validId, stored.get(), System.currentTimeMillis());
+            });
+
+            int threads = 5;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UserPoint>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return pointService.chargePoint(validId, 100L);
+                }));
+            }
+            start.countDown();
+
+            long maxPoint = 0L;
+            for (Future<UserPoint> result : results) {
+                maxPoint = Math.max(maxPoint, result.get(5, TimeUnit.SECONDS).point());
+            }
+            executor.shutdown();
+            pointHistoryWriter.flush();
+
+            assertThat(stored.get()).isEqualTo(500L);
+            assertThat(maxPoint).isEqualTo(500L);
+            verify(userPointTable, atMost(threads - 1)).insertOrUpdate(eq(validId), anyLong());
+            verify(pointHistoryTable, times(threads)).insert(eq(validId), eq(100L), eq(TransactionType.CHARGE), anyLong());
+        }
+
+        @Test
+        @DisplayName("묶음 처리 중 정책을 위반한 요청만 실패하는지 확인")
+        void failOnlyViolatingCommand() throws Exception {
+            // 한 요청의 최대 잔고 초과가 같은 묶음의 다른 요청 결과에 영향을 주면 안 된다.
+            long validId = 1L;
+            AtomicLong stored = new AtomicLong(900L);
+
+            when(userPointTable.selectById(validId)).thenAnswer(invocation -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                return new UserPoint(validId, stored.get(), 1L);
+            });
+            when(userPointTable.insertOrUpdate(eq(validId), anyLong())).thenAnswer(invocation -> {
+                stored.set(invocation.getArgument(1));
+                return new UserPoint(validId, stored.get(), System.currentTimeMillis());
+            });
+
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            Future<UserPoint> use = executor.submit(() -> pointService.usePoint(validId, 100L));
+            TimeUnit.MILLISECONDS.sleep(20);
+            Future<UserPoint> overCharge = executor.submit(() -> pointService.chargePoint(validId, 300L));
+            TimeUnit.MILLISECONDS.sleep(20);
+            Future<UserPoint> charge = executor.submit(() -> pointService.chargePoint(validId, 50L));
+
+            assertThat(use.get(5, TimeUnit.SECONDS).point()).isEqualTo(800L);
+            assertThatThrownBy(() -> overCharge.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("충전 가능한 최대 포인트는 1000 입니다.");
+            assertThat(charge.get(5, TimeUnit.SECONDS).point()).isEqualTo(850L);
+            executor.shutdown();
+
+            assertThat(stored.get()).isEqualTo(850L);
+        }
+
+        @Test
+        @DisplayName("낙관적 전략에서 같은 사용자의 동시 충전이 유실 없이 반영되는지 확인")
+        void optimisticConcurrentCharges() throws Exception {
+            // 락 없이 읽은 잔액으로 저장하더라도, 그 사이 다른 저장이 있었다면 다시 읽어야 한다.
+            pointService = pointService(ConcurrencyStrategy.OPTIMISTIC);
+            long validId = 1L;
+            AtomicLong stored = new AtomicLong(0L);
+
+            when(userPointTable.selectById(validId)).thenAnswer(invocation -> new UserPoint(validId, stored.get(), 1L));
+            when(userPointTable.insertOrUpdate(eq(validId), anyLong())).thenAnswer(invocation -> {
+                TimeUnit.MILLISECONDS.sleep(20);
+                stored.set(invocation.getArgument(1));
+                return new UserPoint(validId, stored.get(), System.currentTimeMillis());
+            });
+
+            int threads = 5;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UserPoint>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return pointService.chargePoint(validId, 100L);
+                }));
+            }
+            start.countDown();
+
+            List<Long> points = new ArrayList<>();
+            for (Future<UserPoint> result : results) {
+                points.add(result.get(5, TimeUnit.SECONDS).point());
+            }
+            executor.shutdown();
+
+            assertThat(stored.get()).isEqualTo(500L);
+            assertThat(points).containsExactlyInAnyOrder(100L, 200L, 300L, 400L, 500L);
+            assertThat(meterRegistry.get("point.concurrency.optimistic").tag("result", "conflict").counter().count())
+                    .isPositive();
+        }
+
+        @Test
+        @DisplayName("저장 뒤 캐시가 갱신되기 전에 이전 잔액을 읽은 낙관적 충전이 앞선 충전을 덮어쓰지 않는지 확인")
+        void optimisticChargeDuringCacheUpdate() throws Exception {
+            // 쓰기 버전이 캐시보다 먼저 오르면, 오른 버전과 이전 잔액을 함께 읽은 충전이 그대로 커밋되어 앞선 충전이 사라진다.
+            long validId = 1L;
+            AtomicLong stored = new AtomicLong(50L);
+            AtomicReference<Thread> reader = new AtomicReference<>();
+            CountDownLatch putReached = new CountDownLatch(1);
+            CountDownLatch staleRead = new CountDownLatch(1);
+            UserPointCache userPointCache = new UserPointCache(100, Duration.ofMinutes(1)) {
+                @Override
+                public UserPoint get(long id) {
+                    UserPoint userPoint = super.get(id);
+                    if (Thread.currentThread() == reader.get()) {
+                        staleRead.countDown();
+                    }
+                    return userPoint;
+                }
+
+                @Override
+                public void put(UserPoint userPoint) {
+                    // 첫 충전의 캐시 갱신을 두 번째 충전이 캐시를 읽을 때까지 멈춘다.
+                    if (userPoint.point() == 150L && putReached.getCount() > 0) {
+                        putReached.countDown();
+                        await(staleRead);
+                    }
+                    super.put(userPoint);
+                }
+            };
+            pointService = pointService(ConcurrencyStrategy.OPTIMISTIC, new NoOpPointJournal(), userPointCache);
+
+            when(userPointTable.selectById(validId)).thenAnswer(invocation -> new UserPoint(validId, stored.get(), 1L));
+            when(userPointTable.insertOrUpdate(eq(validId), anyLong())).thenAnswer(invocation -> {
+                stored.set(invocation.getArgument(1));
+                return new UserPoint(validId, stored.get(), System.currentTimeMillis());
+            });
+            // 캐시에 이전 잔액 50 을 채워 둔다.
+            pointService.getUserPoint(validId);
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            Future<UserPoint> first = executor.submit(() -> pointService.chargePoint(validId, 100L));
+            assertThat(putReached.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<UserPoint> second = executor.submit(() -> {
+                reader.set(Thread.currentThread());
+                return pointService.chargePoint(validId, 30L);
+            });
+
+            assertThat(first.get(5, TimeUnit.SECONDS).point()).isEqualTo(150L);
+            assertThat(second.get(5, TimeUnit.SECONDS).point()).isEqualTo(180L);
+            executor.shutdown();
+
+            assertThat(stored.get()).isEqualTo(180L);
+        }
+
+        private void await(CountDownLatch latch) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
-}
\ No newline at end of file
+}
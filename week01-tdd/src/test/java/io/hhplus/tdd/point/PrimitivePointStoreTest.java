@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.store.PrimitivePointStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class PrimitivePointStoreTest {
+
+    @Test
+    @DisplayName("저장하지 않은 id 는 Absent 를, 저장한 id 는 마지막 잔액을 반환하는지 확인")
+    void selectAfterInsertOrUpdate() {
+        // TablePointStore 와 같은 계약을 지켜야 서비스가 저장소를 바꿔도 동작이 같다.
+        PrimitivePointStore store = new PrimitivePointStore(16);
+
+        assertThat(store.find(1L)).isSameAs(PointLookup.absent());
+
+        store.insertOrUpdate(1L, 100L);
+        UserPoint saved = store.insertOrUpdate(1L, 300L);
+
+        assertThat(store.find(1L)).isEqualTo(saved);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("초기 크기를 넘게 저장해도 배열이 확장되고 모든 잔액이 유지되는지 확인")
+    void growBeyondInitialCapacity() {
+        // 확장 중 재배치된 칸에서도 기존 잔액을 찾을 수 있어야 한다.
+        PrimitivePointStore store = new PrimitivePointStore(16);
+        int initialCapacity = store.capacity();
+
+        for (long id = 1; id <= 1_000; id++) {
+            store.insertOrUpdate(id, id * 10);
+        }
+
+        assertThat(store.capacity()).isGreaterThan(initialCapacity);
+        assertThat(store.size()).isEqualTo(1_000);
+        for (long id = 1; id <= 1_000; id++) {
+            assertThat(((UserPoint) store.find(id)).point()).isEqualTo(id * 10);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 새 사용자를 저장해도 누락이나 중복 없이 저장되는지 확인")
+    void concurrentInsert() throws Exception {
+        // 빈 칸 선점(CAS)과 배열 확장이 겹쳐도 사용자 수와 잔액이 정확해야 한다.
+        PrimitivePointStore store = new PrimitivePointStore(16);
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            futures.add(executor.submit(() -> {
+                for (long id = base + 1; id <= base + perThread; id++) {
+                    store.insertOrUpdate(id, id);
+                    store.find(id);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(store.size()).isEqualTo(threads * perThread);
+        for (long id = 1; id <= (long) threads * perThread; id++) {
+            assertThat(((UserPoint) store.find(id)).point()).isEqualTo(id);
+        }
+    }
+}
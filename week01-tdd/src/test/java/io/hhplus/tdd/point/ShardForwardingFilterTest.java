@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.hhplus.tdd.point.concurrent.PointThreadFactory;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.shard.ShardClient;
+import io.hhplus.tdd.point.shard.ShardForwardingFilter;
+import io.hhplus.tdd.point.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ShardForwardingFilterTest {
+
+    private static final String SECRET = "shard-secret";
+
+    private HttpServer owner;
+    private ShardRouter shardRouter;
+    private ShardClient shardClient;
+    private ShardForwardingFilter filter;
+    private final AtomicReference<String> received = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 다른 인스턴스(b) 역할을 하는 서버 : 받은 요청을 기록하고 충전 결과를 돌려준다.
+        owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/point", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.set(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " " + body + " "
+                    + exchange.getRequestHeaders().getFirst("Idempotency-Key") + " "
+                    + exchange.getRequestHeaders().getFirst(ShardClient.FORWARDED_HEADER) + " "
+                    + exchange.getRequestHeaders().getFirst(ShardClient.SECRET_HEADER));
+            byte[] response = "{\"id\":7,\"point\":100}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        owner.start();
+
+        String ownerUrl = "http://localhost:" + owner.getAddress().getPort();
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        shardRouter = new ShardRouter(true, "a", List.of("a=http://localhost:1", "b=" + ownerUrl), 160, SECRET);
+        shardClient = new ShardClient(Duration.ofSeconds(1), Duration.ofSeconds(2), 2, "a", SECRET,
+                new PointThreadFactory(false), new ObjectMapper(), pointMetrics);
+        filter = new ShardForwardingFilter(shardRouter, shardClient, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        owner.stop(0);
+        shardClient.shutdown();
+    }
+
+    @Test
+    @DisplayName("다른 shard 사용자의 충전 요청을 헤더/본문과 함께 담당 인스턴스로 전달하는지 확인")
+    void forwardToOwner() throws Exception {
+        // 어느 인스턴스로 요청해도 담당 인스턴스의 잔액으로 처리되어야 한다.
+        long remoteId = userOwnedBy("b");
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/" + remoteId + "/charge");
+        request.addHeader("Idempotency-Key", "key-1");
+        request.setContent("100".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(received.get()).isEqualTo("PATCH /point/" + remoteId + "/charge 100 key-1 a " + SECRET);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(ShardForwardingFilter.SHARD_HEADER)).isEqualTo("b");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":7,\"point\":100}");
+    }
+
+    @Test
+    @DisplayName("이 인스턴스 사용자이거나 이미 전달된 요청은 전달하지 않고 직접 처리하는지 확인")
+    void handleLocally() throws Exception {
+        // 전달받은 요청을 다시 전달하면 ring 설정이 어긋난 인스턴스 사이에서 요청이 돌 수 있다.
+        MockFilterChain localChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/point/" + userOwnedBy("a")),
+                new MockHttpServletResponse(), localChain);
+
+        MockHttpServletRequest forwarded = new MockHttpServletRequest("GET", "/point/" + userOwnedBy("b"));
+        forwarded.addHeader(ShardClient.FORWARDED_HEADER, "b");
+        forwarded.addHeader(ShardClient.SECRET_HEADER, SECRET);
+        MockFilterChain forwardedChain = new MockFilterChain();
+        filter.doFilter(forwarded, new MockHttpServletResponse(), forwardedChain);
+
+        assertThat(localChain.getRequest()).isNotNull();
+        assertThat(forwardedChain.getRequest()).isNotNull();
+        assertThat(received.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("secret 이 맞지 않는 전달 헤더는 지우고 담당 인스턴스로 전달하는지 확인")
+    void ignoreUntrustedForwardHeader() throws Exception {
+        // 클라이언트가 전달 헤더만 붙여 담당이 아닌 인스턴스의 잔액을 바꾸거나 batch 의 shard 분배를 건너뛰면 안 된다.
+        MockHttpServletRequest remote = new MockHttpServletRequest("GET", "/point/" + userOwnedBy("b"));
+        remote.addHeader(ShardClient.FORWARDED_HEADER, "b");
+        remote.addHeader(ShardClient.SECRET_HEADER, "guess");
+        MockFilterChain remoteChain = new MockFilterChain();
+        filter.doFilter(remote, new MockHttpServletResponse(), remoteChain);
+
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/point/batch");
+        batch.addHeader(ShardClient.FORWARDED_HEADER, "b");
+        MockFilterChain batchChain = new MockFilterChain();
+        filter.doFilter(batch, new MockHttpServletResponse(), batchChain);
+
+        assertThat(remoteChain.getRequest()).isNull();
+        assertThat(received.get()).endsWith(" a " + SECRET);
+        assertThat(((HttpServletRequest) batchChain.getRequest()).getHeader(ShardClient.FORWARDED_HEADER)).isNull();
+        assertThat(Collections.list(((HttpServletRequest) batchChain.getRequest()).getHeaderNames()))
+                .doesNotContain(ShardClient.FORWARDED_HEADER);
+    }
+
+    @Test
+    @DisplayName("담당 인스턴스에 연결할 수 없을 때, 502 와 ErrorResponse 를 반환하는지 확인")
+    void ownerUnavailable() throws Exception {
+        // 담당 인스턴스가 내려가면 처리 여부를 알 수 없으므로 성공으로 응답하면 안 된다.
+        owner.stop(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/point/" + userOwnedBy("b")), response,
+                new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(502);
+        assertThat(response.getContentAsString()).contains("\"code\":\"502\"");
+    }
+
+    private long userOwnedBy(String shard) {
+        long userId = 1;
+        while (!shardRouter.owner(userId).name().equals(shard)) {
+            userId++;
+        }
+        return userId;
+    }
+}
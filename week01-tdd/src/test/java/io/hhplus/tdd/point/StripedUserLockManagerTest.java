@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.lock.LockStripeStats;
+import io.hhplus.tdd.point.lock.StripedUserLockManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StripedUserLockManagerTest {
+
+    @Test
+    @DisplayName("같은 id 에 대한 작업이 동시에 실행되지 않는지 확인")
+    void sameUserIsSerialized() throws InterruptedException {
+        // 같은 사용자의 read-modify-write 가 겹치면 갱신 손실이 발생하므로 동시 실행 수가 1을 넘지 않아야 한다.
+        StripedUserLockManager lockManager = new StripedUserLockManager(16);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int threads = 10;
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                lockManager.executeWithLock(1L, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(10);
+                    running.decrementAndGet();
+                    return null;
+                });
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 stripe 의 id 는 서로를 기다리지 않는지 확인")
+    void differentUsersRunInParallel() throws InterruptedException {
+        // 한 사용자의 작업이 오래 걸려도 다른 사용자의 작업은 막히지 않아야 한다.
+        StripedUserLockManager lockManager = new StripedUserLockManager(16);
+        long otherId = 2L;
+        while (lockManager.stripeOf(otherId) == lockManager.stripeOf(1L)) {
+            otherId++;
+        }
+        long finalOtherId = otherId;
+
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> lockManager.executeWithLock(1L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holder.start();
+        holding.await();
+
+        CountDownLatch otherDone = new CountDownLatch(1);
+        new Thread(() -> lockManager.executeWithLock(finalOtherId, () -> {
+            otherDone.countDown();
+            return null;
+        })).start();
+
+        assertThat(otherDone.await(1, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    @DisplayName("락 획득 횟수가 stripe 별 통계에 반영되는지 확인")
+    void statsAreRecorded() {
+        // stripe 수 튜닝의 근거가 되는 통계가 누락되지 않아야 한다.
+        StripedUserLockManager lockManager = new StripedUserLockManager(10);
+
+        lockManager.executeWithLock(1L, () -> null);
+        lockManager.executeWithLock(1L, () -> null);
+
+        List<LockStripeStats> stats = lockManager.stats();
+        assertThat(stats).hasSize(16);
+        assertThat(stats.get(lockManager.stripeOf(1L)).acquisitions()).isEqualTo(2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.store.TablePointStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TablePointStoreTest {
+
+    @Test
+    @DisplayName("저장하지 않은 id 는 Absent 를, 잔액을 모두 사용한 id 는 잔액 0 을 반환하는지 확인")
+    void distinguishEmptyFromZeroBalance() {
+        // 테이블은 두 경우 모두 잔액 0 을 돌려주므로, 시각이 아니라 저장 여부로 구분해야 한다.
+        TablePointStore store = new TablePointStore(new UserPointTable());
+
+        assertThat(store.find(1L)).isSameAs(PointLookup.absent());
+
+        store.insertOrUpdate(1L, 100L);
+        UserPoint saved = store.insertOrUpdate(1L, 0L);
+
+        assertThat(store.find(1L)).isEqualTo(saved);
+        assertThat(store.find(2L)).isSameAs(PointLookup.absent());
+    }
+
+    @Test
+    @DisplayName("이 저장소를 거치지 않고 채워진 잔액도 있는 사용자로 조회되는지 확인")
+    void findRowStoredElsewhere() {
+        // 테이블에 직접 채운 잔액이 있는 사용자를 없는 사용자로 보면 충전 시 잔액이 사라진다.
+        UserPointTable userPointTable = new UserPointTable();
+        UserPoint stored = userPointTable.insertOrUpdate(1L, 300L);
+
+        assertThat(new TablePointStore(userPointTable).find(1L)).isEqualTo(stored);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hhplus.tdd.point.cache.UserPointCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+class UserPointCacheTest {
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 사용자가 제거되는지 확인")
+    void evictLeastRecentlyUsed() {
+        // 사용자 수가 늘어도 캐시 메모리가 최대 크기 안에서 유지되어야 한다.
+        UserPointCache cache = new UserPointCache(2, Duration.ofMinutes(1));
+        cache.put(new UserPoint(1L, 100, 1L));
+        cache.put(new UserPoint(2L, 200, 1L));
+        cache.get(1L);
+
+        cache.put(new UserPoint(3L, 300, 1L));
+
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(3L)).isNotNull();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("segment 로 나뉜 큰 캐시도 전체 최대 크기를 넘지 않는지 확인")
+    void boundSegmentedCache() {
+        // 조회가 한 락에 몰리지 않도록 segment 로 나눠도, 메모리 상한은 설정한 최대 크기여야 한다.
+        UserPointCache cache = new UserPointCache(4096, Duration.ofMinutes(1));
+        for (long id = 1; id <= 10_000; id++) {
+            cache.put(new UserPoint(id, 100, 1L));
+        }
+
+        UserPointCache.CacheStats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(4096);
+        assertThat(stats.evictions()).isEqualTo(10_000 - 4096);
+        assertThat(cache.get(10_000L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("ttl 이 지난 값은 조회되지 않는지 확인")
+    void expireAfterTtl() throws InterruptedException {
+        // 오래된 잔액이 무기한 남아 있지 않도록 ttl 이 지나면 테이블에서 다시 읽어야 한다.
+        UserPointCache cache = new UserPointCache(10, Duration.ofMillis(20));
+        cache.put(new UserPoint(1L, 100, 1L));
+
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("조회 결과에 따라 hit/miss 가 집계되는지 확인")
+    void countHitAndMiss() {
+        // 캐시 크기와 ttl 튜닝의 근거가 되는 통계가 정확해야 한다.
+        UserPointCache cache = new UserPointCache(10, Duration.ofMinutes(1));
+        cache.put(new UserPoint(1L, 100, 1L));
+
+        cache.get(1L);
+        cache.get(2L);
+
+        UserPointCache.CacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+}